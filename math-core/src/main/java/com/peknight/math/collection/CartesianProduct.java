@@ -0,0 +1,300 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.math.BigInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 笛卡尔积算法类
+ * 本类提供了计算笛卡尔积个数以及对多组数据进行笛卡尔积的多种方法
+ * 给定的源数据data为二维数组，data[i]为第i个坐标的取值范围，各组长度可以不同
+ * 行号即以各组长度为基数的混合进制数，最后一个坐标变化最快
+ * 另提供格雷码顺序（反射混合进制格雷码），相邻两行只有一个坐标变化，且变化量为1个下标
+ * 如需逐行遍历或并行遍历，请使用CartesianProductCursor或stream方法
+ * 
+ * @author Peknight
+ *
+ * 原创
+ */
+public class CartesianProduct {
+	private CartesianProduct() {}
+
+	/** 计算笛卡尔积个数 */
+	public static long countCartesianProduct(int[][] data) {
+		long count = 1;
+		for (int[] values : data) {
+			if (values.length != 0 && count > Long.MAX_VALUE / values.length) {
+				throw new IllegalArgumentException("数据量超过Long最大范围");
+			}
+			count *= values.length;
+		}
+		return count;
+	}
+
+	/** 计算笛卡尔积个数（数据较大时使用） */
+	public static BigInteger countBigCartesianProduct(int[][] data) {
+		BigInteger count = BigInteger.ONE;
+		for (int[] values : data) {
+			count = count.multiply(BigInteger.valueOf(values.length));
+		}
+		return count;
+	}
+
+	/**
+	 * 将给定数据data进行笛卡尔积而得到的第row行结果存入productArr中
+	 * @param productArr 存放生成数据的数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param row 要获得的笛卡尔积结果的行号（从0开始）
+	 */
+	public static void cartesianProduct(int[] productArr, int[][] data, long row) {
+		/*
+		 * 本方法的核心思想在于将行号转换为混合进制数
+		 * 从最后一个坐标开始，行号对该坐标取值个数取模即为该坐标的下标
+		 */
+		for (int col = data.length-1; col >= 0; col--) {
+			int size = data[col].length;
+			productArr[col] = data[col][(int) (row % size)];
+			row /= size;
+		}
+	}
+
+	/**
+	 * 获得将给定数据data进行笛卡尔积而得到的第row行结果
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param row 要获得的笛卡尔积结果的行号（从0开始）
+	 * @return 第row行笛卡尔积结果
+	 */
+	public static int[] cartesianProduct(int[][] data, long row) {
+		int[] productArr = new int[data.length];
+		cartesianProduct(productArr, data, row);
+		return productArr;
+	}
+
+	/**
+	 * 获得将给定数据data进行笛卡尔积的结果
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @return 笛卡尔积结果
+	 */
+	public static int[][] cartesianProduct(int[][] data) {
+		long count = countCartesianProduct(data);
+		if (count > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("数据量超过Integer最大范围");
+		}
+		int[][] productArrs = new int[(int) count][];
+		CartesianProductCursor cursor = new CartesianProductCursor(sizes(data));
+		for (int i = 0; cursor.next(); i++) {
+			productArrs[i] = new int[data.length];
+			cursor.fill(productArrs[i], data);
+		}
+		return productArrs;
+	}
+
+	/**
+	 * 将给定数据data进行笛卡尔积而得到的第row行结果存入productArr中
+	 * @param productArr 存放生成数据的数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param row 要获得的笛卡尔积结果的行号（从0开始）
+	 */
+	public static <T> void cartesianProduct(T[] productArr, T[][] data, long row) {
+		for (int col = data.length-1; col >= 0; col--) {
+			int size = data[col].length;
+			productArr[col] = data[col][(int) (row % size)];
+			row /= size;
+		}
+	}
+
+	/**
+	 * 获得将给定数据data进行笛卡尔积而得到的第row行结果
+	 * 数据量超大时风味更佳
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param row 要获得的笛卡尔积结果的行号（从0开始）
+	 * @return 第row行笛卡尔积结果
+	 */
+	public static int[] bigCartesianProduct(int[][] data, BigInteger row) {
+		int[] productArr = new int[data.length];
+		for (int col = data.length-1; col >= 0; col--) {
+			int size = data[col].length;
+			//行号不超过Long最大范围后改用long计算
+			if (row.bitLength() < Long.SIZE-1) {
+				cartesianProduct(productArr, data, col, row.longValue());
+				break;
+			}
+			BigInteger[] qr = row.divideAndRemainder(BigInteger.valueOf(size));
+			productArr[col] = data[col][qr[1].intValue()];
+			row = qr[0];
+		}
+		return productArr;
+	}
+
+	/** 将第0个到第col个坐标按行号row赋值 */
+	private static void cartesianProduct(int[] productArr, int[][] data, int col, long row) {
+		for (; col >= 0; col--) {
+			int size = data[col].length;
+			productArr[col] = data[col][(int) (row % size)];
+			row /= size;
+		}
+	}
+
+	/**
+	 * 根据生成的笛卡尔积数组计算其对应的行号
+	 * @param productArr 生成的笛卡尔积数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @return 行号
+	 */
+	public static long getCartesianProductRow(int[] productArr, int[][] data) {
+		long row = 0;
+		for (int col = 0; col < data.length; col++) {
+			row = row*data[col].length + indexOf(productArr[col], data[col]);
+		}
+		return row;
+	}
+
+	/**
+	 * 根据生成的笛卡尔积数组计算其对应的行号
+	 * 数据量超大时风味更佳
+	 * @param productArr 生成的笛卡尔积数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @return 行号
+	 */
+	public static BigInteger getBigCartesianProductRow(int[] productArr, int[][] data) {
+		BigInteger row = BigInteger.ZERO;
+		for (int col = 0; col < data.length; col++) {
+			row = row.multiply(BigInteger.valueOf(data[col].length))
+					.add(BigInteger.valueOf(indexOf(productArr[col], data[col])));
+		}
+		return row;
+	}
+
+	/**
+	 * 将给定数据data按格雷码顺序进行笛卡尔积而得到的第row行结果存入productArr中
+	 * 第row行与第row+1行只有一个坐标不同
+	 * @param productArr 存放生成数据的数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param row 要获得的笛卡尔积结果的行号（从0开始）
+	 */
+	public static void grayCartesianProduct(int[] productArr, int[][] data, long row) {
+		int[] indexes = new int[data.length];
+		grayIndexes(sizes(data), row, indexes, null);
+		for (int col = 0; col < data.length; col++) {
+			productArr[col] = data[col][indexes[col]];
+		}
+	}
+
+	/**
+	 * 获得将给定数据data按格雷码顺序进行笛卡尔积而得到的第row行结果
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param row 要获得的笛卡尔积结果的行号（从0开始）
+	 * @return 第row行笛卡尔积结果
+	 */
+	public static int[] grayCartesianProduct(int[][] data, long row) {
+		int[] productArr = new int[data.length];
+		grayCartesianProduct(productArr, data, row);
+		return productArr;
+	}
+
+	/**
+	 * 根据按格雷码顺序生成的笛卡尔积数组计算其对应的行号
+	 * @param productArr 生成的笛卡尔积数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @return 行号
+	 */
+	public static long getGrayCartesianProductRow(int[] productArr, int[][] data) {
+		long row = 0;
+		//reflected 当前坐标是否处于反向区段中
+		boolean reflected = false;
+		for (int col = 0; col < data.length; col++) {
+			int size = data[col].length;
+			int gray = indexOf(productArr[col], data[col]);
+			row = row*size + (reflected ? size-1-gray : gray);
+			reflected ^= (gray & 1) == 1;
+		}
+		return row;
+	}
+
+	/**
+	 * 获取按行号顺序遍历笛卡尔积的流，流中每个元素都是新数组
+	 * 流可被拆分为行号区间以便并行处理
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param parallel 是否并行
+	 * @return 笛卡尔积流
+	 */
+	public static Stream<int[]> stream(int[][] data, boolean parallel) {
+		return StreamSupport.stream(new CartesianProductSpliterator(data), parallel);
+	}
+
+	/**
+	 * 将行号转换为各坐标的下标
+	 * @param sizes 各坐标的取值个数
+	 * @param row 行号
+	 * @param indexes 存放下标的数组
+	 */
+	static void indexes(int[] sizes, long row, int[] indexes) {
+		for (int col = sizes.length-1; col >= 0; col--) {
+			indexes[col] = (int) (row % sizes[col]);
+			row /= sizes[col];
+		}
+	}
+
+	/**
+	 * 将行号转换为格雷码顺序下各坐标的下标
+	 * 先求出行号的混合进制各位数字，处于反向区段中的坐标取 基数-1-数字
+	 * 某坐标的取值为奇数时，其后的坐标进入（或离开）反向区段
+	 * @param sizes 各坐标的取值个数
+	 * @param row 行号
+	 * @param indexes 存放下标的数组
+	 * @param directions 存放各坐标下一次变化的方向（1或-1），为null时不计算
+	 */
+	static void grayIndexes(int[] sizes, long row, int[] indexes, int[] directions) {
+		indexes(sizes, row, indexes);
+		boolean reflected = false;
+		for (int col = 0; col < sizes.length; col++) {
+			if (reflected) {
+				indexes[col] = sizes[col]-1-indexes[col];
+			}
+			if (directions != null) {
+				directions[col] = reflected ? -1 : 1;
+			}
+			reflected ^= (indexes[col] & 1) == 1;
+		}
+	}
+
+	/** 获取各坐标的取值个数 */
+	static int[] sizes(int[][] data) {
+		int[] sizes = new int[data.length];
+		for (int col = 0; col < data.length; col++) {
+			sizes[col] = data[col].length;
+		}
+		return sizes;
+	}
+
+	private static int indexOf(int value, int[] values) {
+		int index = ArrayUtils.indexOf(value, values);
+		if (index < 0) {
+			throw new IllegalArgumentException("数据不在源数据中: " + value);
+		}
+		return index;
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+/**
+ * 笛卡尔积游标类
+ * 在行号区间 [start, end) 内逐行遍历笛卡尔积各坐标的下标，支持行号顺序与格雷码顺序
+ * 构造时根据起始行号定位一次，之后每行由上一行的下标直接推出，不再分配内存
+ * 格雷码顺序下每次前进只有一个坐标变化，可通过getChanged获取变化的坐标
+ * 本类不是线程安全的，每个线程应使用各自的游标
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class CartesianProductCursor implements RowRangeSpliterator.Cursor {
+	private final int[] sizes;
+	private final boolean gray;
+	/** indexes 当前行各坐标的下标 */
+	private final int[] indexes;
+	/** directions 格雷码顺序下各坐标下一次变化的方向 */
+	private final int[] directions;
+	/** row 下一个要获取的行号 */
+	private long row;
+	private final long start;
+	private final long end;
+	/** changed 最近一次前进时变化的坐标 */
+	private int changed = -1;
+
+	/**
+	 * 按行号顺序遍历全部笛卡尔积
+	 * @param sizes 各坐标的取值个数
+	 */
+	public CartesianProductCursor(int[] sizes) {
+		this(sizes, 0, count(sizes), false);
+	}
+
+	/**
+	 * @param sizes 各坐标的取值个数
+	 * @param start 起始行号（包含）
+	 * @param end 结束行号（不包含）
+	 * @param gray 是否按格雷码顺序遍历
+	 */
+	public CartesianProductCursor(int[] sizes, long start, long end, boolean gray) {
+		this.sizes = sizes;
+		this.gray = gray;
+		this.indexes = new int[sizes.length];
+		this.directions = gray ? new int[sizes.length] : null;
+		this.start = start;
+		this.end = Math.min(end, count(sizes));
+		this.row = start;
+		if (start < this.end) {
+			if (gray) {
+				CartesianProduct.grayIndexes(sizes, start, indexes, directions);
+			} else {
+				CartesianProduct.indexes(sizes, start, indexes);
+			}
+		}
+	}
+
+	/**
+	 * 前进到下一行
+	 * @return 已遍历到结束行号时返回false
+	 */
+	@Override
+	public boolean next() {
+		if (row >= end) {
+			return false;
+		}
+		if (row > start) {
+			if (gray) {
+				nextGray();
+			} else {
+				nextSerial();
+			}
+		}
+		row++;
+		return true;
+	}
+
+	/**
+	 * 获取当前行各坐标的下标
+	 * 返回的数组在游标前进时被改写，请勿修改
+	 * @return 当前行下标
+	 */
+	public int[] getIndexes() {
+		return indexes;
+	}
+
+	/**
+	 * 将当前行结果存入productArr中
+	 * @param productArr 存放结果的数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 */
+	public void fill(int[] productArr, int[][] data) {
+		for (int col = 0; col < indexes.length; col++) {
+			productArr[col] = data[col][indexes[col]];
+		}
+	}
+
+	/**
+	 * 将当前行结果存入productArr中
+	 * @param productArr 存放结果的数组
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 */
+	public <T> void fill(T[] productArr, T[][] data) {
+		for (int col = 0; col < indexes.length; col++) {
+			productArr[col] = data[col][indexes[col]];
+		}
+	}
+
+	/** 获取当前行号 */
+	@Override
+	public long getRow() {
+		return row-1;
+	}
+
+	/** 获取最近一次前进时变化的坐标，第一行返回-1 */
+	public int getChanged() {
+		return changed;
+	}
+
+	/** 按行号顺序推出下一行：最后一个坐标加1，满则进位 */
+	private void nextSerial() {
+		int col = indexes.length-1;
+		while (indexes[col] == sizes[col]-1) {
+			indexes[col--] = 0;
+		}
+		indexes[col]++;
+		changed = col;
+	}
+
+	/** 按格雷码顺序推出下一行：从最后一个坐标开始找到能按当前方向变化的坐标，途经已到边界的坐标改变方向 */
+	private void nextGray() {
+		int col = indexes.length-1;
+		while (true) {
+			int index = indexes[col]+directions[col];
+			if (index >= 0 && index < sizes[col]) {
+				indexes[col] = index;
+				changed = col;
+				return;
+			}
+			directions[col] = -directions[col];
+			col--;
+		}
+	}
+
+	private static long count(int[] sizes) {
+		long count = 1;
+		for (int size : sizes) {
+			if (size != 0 && count > Long.MAX_VALUE / size) {
+				throw new IllegalArgumentException("数据量超过Long最大范围");
+			}
+			count *= size;
+		}
+		return count;
+	}
+}
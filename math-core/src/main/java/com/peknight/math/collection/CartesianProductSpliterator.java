@@ -0,0 +1,84 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * 笛卡尔积拆分迭代器
+ * 按行号顺序遍历行号区间 [start, end) 内的笛卡尔积，每个元素都是新数组
+ * 拆分时按行号区间对半拆分，拆分出的各部分分别由各自的CartesianProductCursor遍历，可用于并行流
+ * 拆分与遍历由RowRangeSpliterator实现
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class CartesianProductSpliterator implements Spliterator<int[]> {
+	private final Spliterator<int[]> spliterator;
+
+	/**
+	 * 遍历全部笛卡尔积
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 */
+	public CartesianProductSpliterator(int[][] data) {
+		this(data, 0, CartesianProduct.countCartesianProduct(data));
+	}
+
+	/**
+	 * @param data 给定的源数据，data[i]为第i个坐标的取值
+	 * @param start 起始行号（包含）
+	 * @param end 结束行号（不包含）
+	 */
+	public CartesianProductSpliterator(int[][] data, long start, long end) {
+		int[] sizes = CartesianProduct.sizes(data);
+		this.spliterator = new RowRangeSpliterator<CartesianProductCursor, int[]>(start, end,
+				(from, to) -> new CartesianProductCursor(sizes, from, to, false), cursor -> {
+					int[] productArr = new int[sizes.length];
+					cursor.fill(productArr, data);
+					return productArr;
+				});
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super int[]> action) {
+		return spliterator.tryAdvance(action);
+	}
+
+	@Override
+	public Spliterator<int[]> trySplit() {
+		return spliterator.trySplit();
+	}
+
+	@Override
+	public long estimateSize() {
+		return spliterator.estimateSize();
+	}
+
+	@Override
+	public int characteristics() {
+		return spliterator.characteristics();
+	}
+}
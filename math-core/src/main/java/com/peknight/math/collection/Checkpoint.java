@@ -0,0 +1,218 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 枚举检查点类
+ * 记录一段排列或组合枚举的类型、源数据长度、取出的数据长度、下一个要获取的行号以及结束行号
+ * 既可作为分片的起始游标，也可在枚举过程中定期保存，进程中断后据此从中断处继续枚举
+ * 检查点可序列化，也可转换为形如 COMBINATION:n:len:row:end 的文本保存到文件中
+ * 反序列化时与构造时进行相同的参数检查，不合法的数据无法还原为检查点
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public final class Checkpoint implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/** 枚举类型 */
+	public enum Type {
+		/** 组合 */
+		COMBINATION,
+		/** 排列 */
+		PERMUTATION
+	}
+
+	private final Type type;
+	private final int n;
+	private final int len;
+	private final BigInteger row;
+	private final BigInteger end;
+
+	/**
+	 * @param type 枚举类型
+	 * @param n 源数据长度
+	 * @param len 取出的数据长度
+	 * @param row 下一个要获取的行号（包含）
+	 * @param end 结束行号（不包含）
+	 */
+	public Checkpoint(Type type, int n, int len, BigInteger row, BigInteger end) {
+		checkArgument(type, n, len, row, end);
+		this.type = type;
+		this.n = n;
+		this.len = len;
+		this.row = row;
+		this.end = end;
+	}
+
+	private static void checkArgument(Type type, int n, int len, BigInteger row, BigInteger end) {
+		if (type == null || row == null || end == null) {
+			throw new IllegalArgumentException("参数不能为空");
+		}
+		if (len < 0 || len > n) {
+			throw new IllegalArgumentException("取出的数据长度超出源数据范围");
+		}
+		if (row.signum() < 0 || row.compareTo(end) > 0) {
+			throw new IllegalArgumentException("行号超出范围");
+		}
+	}
+
+	/** 反序列化时检查参数，防止绕过构造方法得到不合法的检查点 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		try {
+			checkArgument(type, n, len, row, end);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidObjectException(e.getMessage());
+		}
+	}
+
+	/** 计算枚举类型为type时的总行数 */
+	static BigInteger count(Type type, int n, int len) {
+		return type == Type.COMBINATION ? Combination.countBigCombination(n, len) : Permutation.countBigPermutation(n, len);
+	}
+
+	/**
+	 * 解析toString生成的文本
+	 * @param text 检查点文本
+	 * @return 检查点
+	 */
+	public static Checkpoint parse(String text) {
+		String[] fields = text.trim().split(":");
+		if (fields.length != 5) {
+			throw new IllegalArgumentException("检查点格式错误: " + text);
+		}
+		return new Checkpoint(Type.valueOf(fields[0]), Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+				new BigInteger(fields[3]), new BigInteger(fields[4]));
+	}
+
+	/**
+	 * 从文件中读取检查点
+	 * @param path 检查点文件
+	 * @return 检查点
+	 */
+	public static Checkpoint load(Path path) throws IOException {
+		return parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 将检查点保存到文件中
+	 * 先写入临时文件并刷入磁盘，再原子替换，最后刷新所在目录使替换本身落盘
+	 * 进程在写入过程中中断或系统断电时，文件中要么是原有的检查点，要么是完整的新检查点
+	 * @param path 检查点文件
+	 */
+	public void store(Path path) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		ByteBuffer buffer = ByteBuffer.wrap(toString().getBytes(StandardCharsets.UTF_8));
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		forceDirectory(path.toAbsolutePath().getParent());
+	}
+
+	/**
+	 * 刷新目录使其中的文件替换落盘
+	 * 部分平台（如Windows）不支持以通道打开目录，此时忽略，由文件系统自行保证
+	 */
+	private static void forceDirectory(Path dir) {
+		if (dir == null) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			//平台不支持刷新目录
+		}
+	}
+
+	/** 是否已枚举完毕 */
+	public boolean isFinished() {
+		return row.compareTo(end) >= 0;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public int getN() {
+		return n;
+	}
+
+	public int getLen() {
+		return len;
+	}
+
+	public BigInteger getRow() {
+		return row;
+	}
+
+	public BigInteger getEnd() {
+		return end;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Checkpoint)) {
+			return false;
+		}
+		Checkpoint other = (Checkpoint) obj;
+		return type == other.type && n == other.n && len == other.len && row.equals(other.row) && end.equals(other.end);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = type.hashCode();
+		result = 31*result + n;
+		result = 31*result + len;
+		result = 31*result + row.hashCode();
+		return 31*result + end.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return type + ":" + n + ":" + len + ":" + row + ":" + end;
+	}
+}
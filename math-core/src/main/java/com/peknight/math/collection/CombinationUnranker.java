@@ -0,0 +1,207 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+/**
+ * 组合逆排序器
+ * 与给定的源数组及组合长度绑定，构造时预先计算所需的组合数表，并准备好计算时所需的临时数组
+ * 之后根据行号获取组合结果（unrankInto）或根据组合结果计算行号（rank）都不再分配内存，也不再重复计算组合数
+ * 行号顺序与Combination中的行号一致
+ * 本类的对象持有临时数组，不是线程安全的，多线程使用时请通过threadLocal()或copy()为每个线程提供各自的对象
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class CombinationUnranker {
+	private final int[] data;
+	private final int len;
+	/** counts[b][j] 组合数C(b+j, b)，b为还需组合的数据长度-1，j不超过数据长度-组合长度 */
+	private final long[][] counts;
+	/** count 组合总数 */
+	private final long count;
+	/** sortedIndexes 按数据升序排列的源数组下标，用于根据数据查找下标 */
+	private final int[] sortedIndexes;
+	/** indexes 存放计算过程中的源数组下标 */
+	private final int[] indexes;
+
+	/**
+	 * @param data 给定的源数组
+	 * @param len 取出的数据长度
+	 */
+	public CombinationUnranker(int[] data, int len) {
+		if (len < 0 || len > data.length) {
+			throw new IllegalArgumentException("取出的数据长度超出源数据范围");
+		}
+		int dataSize = data.length;
+		int width = dataSize-len+1;
+		this.data = data;
+		this.len = len;
+		this.counts = new long[len+1][width];
+		for (int b = 0; b <= len; b++) {
+			for (int j = 0; j < width; j++) {
+				//C(b+j, b) = C(b+j-1, b-1) + C(b+j-1, b)
+				counts[b][j] = b == 0 || j == 0 ? 1 : add(counts[b-1][j], counts[b][j-1]);
+			}
+		}
+		this.count = counts[len][width-1];
+		this.sortedIndexes = ArrayUtils.sortIndexs(data);
+		this.indexes = new int[len];
+	}
+
+	private CombinationUnranker(CombinationUnranker prototype) {
+		this.data = prototype.data;
+		this.len = prototype.len;
+		this.counts = prototype.counts;
+		this.count = prototype.count;
+		this.sortedIndexes = prototype.sortedIndexes;
+		this.indexes = new int[len];
+	}
+
+	/**
+	 * 复制一个逆排序器，新对象与本对象共享只读的组合数表，但拥有各自的临时数组
+	 * @return 新的逆排序器
+	 */
+	public CombinationUnranker copy() {
+		return new CombinationUnranker(this);
+	}
+
+	/**
+	 * 创建一个为每个线程提供各自逆排序器的ThreadLocal，各线程的逆排序器共享同一份组合数表
+	 * @param data 给定的源数组
+	 * @param len 取出的数据长度
+	 * @return ThreadLocal
+	 */
+	public static ThreadLocal<CombinationUnranker> threadLocal(int[] data, int len) {
+		CombinationUnranker prototype = new CombinationUnranker(data, len);
+		return ThreadLocal.withInitial(prototype::copy);
+	}
+
+	/** 获取组合总数 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * 将第row行结果在源数组中的下标存入indexArr中
+	 * @param indexArr 存放下标的数组，长度不小于组合长度
+	 * @param row 要获得的组合结果的行号（从0开始）
+	 */
+	public void unrankIndexes(int[] indexArr, long row) {
+		if (row < 0) {
+			throw new IllegalArgumentException("行号不能为负数");
+		}
+		if (indexArr.length < len) {
+			throw new IllegalArgumentException("数组长度小于组合长度");
+		}
+		row %= count;
+		//dataIndex 当前获取数据的下标
+		int dataIndex = 0;
+		for (int col = 0; col < len; col++) {
+			long[] rightCounts = counts[len-col-1];
+			/*
+			 * j 为取出dataIndex后源数组中剩余可跳过的数据个数
+			 * data[dataIndex]在本列出现的次数为C(剩余数据长度-1, 还需组合的数据长度-1)
+			 */
+			for (int j = data.length-len-dataIndex+col; ; j--) {
+				long count = rightCounts[j];
+				if (row < count) {
+					indexArr[col] = dataIndex++;
+					break;
+				}
+				row -= count;
+				dataIndex++;
+			}
+		}
+	}
+
+	/**
+	 * 将第row行结果存入combinationArr中
+	 * @param combinationArr 存放生成数据的数组，长度不小于组合长度
+	 * @param row 要获得的组合结果的行号（从0开始）
+	 */
+	public void unrankInto(int[] combinationArr, long row) {
+		unrankIndexes(indexes, row);
+		for (int col = 0; col < len; col++) {
+			combinationArr[col] = data[indexes[col]];
+		}
+	}
+
+	/**
+	 * 根据组合结果在源数组中的下标计算其对应的行号
+	 * @param indexArr 组合结果在源数组中的下标（升序）
+	 * @return 行号
+	 */
+	public long rankIndexes(int[] indexArr) {
+		if (indexArr.length < len) {
+			throw new IllegalArgumentException("数组长度小于组合长度");
+		}
+		long row = 0;
+		int dataIndex = 0;
+		for (int col = 0; col < len; col++) {
+			if (indexArr[col] < dataIndex || indexArr[col] >= data.length) {
+				throw new IllegalArgumentException("下标必须升序且不超出源数组范围: " + indexArr[col]);
+			}
+			long[] rightCounts = counts[len-col-1];
+			//跳过的每个下标对应的行数之和
+			for (; dataIndex < indexArr[col]; dataIndex++) {
+				row += rightCounts[data.length-len-dataIndex+col];
+			}
+			dataIndex++;
+		}
+		return row;
+	}
+
+	/**
+	 * 根据组合结果计算其对应的行号
+	 * @param combinationArr 组合结果
+	 * @return 行号
+	 */
+	public long rank(int[] combinationArr) {
+		if (combinationArr.length < len) {
+			throw new IllegalArgumentException("数组长度小于组合长度");
+		}
+		for (int col = 0; col < len; col++) {
+			indexes[col] = indexOf(combinationArr[col]);
+		}
+		return rankIndexes(indexes);
+	}
+
+	/** 在源数组中查找数据的下标，相同数据取第一个 */
+	private int indexOf(int value) {
+		int index = ArrayUtils.indexOf(value, data, sortedIndexes);
+		if (index < 0) {
+			throw new IllegalArgumentException("数据不在源数组中: " + value);
+		}
+		return index;
+	}
+
+	private static long add(long a, long b) {
+		long result = a+b;
+		if (result < 0) {
+			throw new IllegalArgumentException("数据量超过Long最大范围");
+		}
+		return result;
+	}
+}
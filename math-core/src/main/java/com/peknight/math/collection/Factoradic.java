@@ -0,0 +1,144 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.math.BigInteger;
+
+/**
+ * 排列行号与混合进制数（康托展开）之间的转换类
+ * 从n个数据中取出len个数据进行全排列时，第col列的下标可取 0 到 n-col-1，行号即以 n, n-1, ..., n-len+1 为各位基数的混合进制数
+ * 本类预先构造各位基数的乘积树，转换时按乘积树将大数一分为二递归处理，
+ * 数值不超过Long最大范围后改用long计算，避免逐列对整个行号做大数除法
+ * 对象构造后不再修改，可供多线程共享，最近一次使用的对象会被缓存
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+final class Factoradic {
+	/** 最近一次使用的对象 */
+	private static volatile Factoradic cache;
+
+	private final int n;
+	private final int len;
+	/** root 第0列到第len-1列基数的乘积树，len为0时为null */
+	private final Node root;
+
+	private Factoradic(int n, int len) {
+		this.n = n;
+		this.len = len;
+		this.root = len == 0 ? null : build(0, len);
+	}
+
+	/**
+	 * 获取从n个数据中取出len个数据进行全排列时的转换对象
+	 * @param n 源数据长度
+	 * @param len 取出的数据长度
+	 * @return 转换对象
+	 */
+	static Factoradic of(int n, int len) {
+		Factoradic factoradic = cache;
+		if (factoradic == null || factoradic.n != n || factoradic.len != len) {
+			factoradic = new Factoradic(n, len);
+			cache = factoradic;
+		}
+		return factoradic;
+	}
+
+	/**
+	 * 将行号转换为混合进制数的各位数字（行号先对排列总数取模）
+	 * @param row 行号
+	 * @return 各位数字，第col位即第col列在未排列数据中的下标
+	 */
+	int[] toDigits(BigInteger row) {
+		int[] digits = new int[len];
+		if (root != null) {
+			toDigits(row.mod(root.product), root, digits);
+		}
+		return digits;
+	}
+
+	/**
+	 * 将混合进制数的各位数字转换为行号
+	 * @param digits 各位数字
+	 * @return 行号
+	 */
+	BigInteger fromDigits(int[] digits) {
+		return root == null ? BigInteger.ZERO : fromDigits(digits, root);
+	}
+
+	private void toDigits(BigInteger value, Node node, int[] digits) {
+		if (value.bitLength() < Long.SIZE-1) {
+			//不超过Long最大范围时从最低位开始逐位取模
+			long x = value.longValue();
+			for (int col = node.to-1; col >= node.from; col--) {
+				digits[col] = (int) (x % (n-col));
+				x /= n-col;
+			}
+			return;
+		}
+		//高位部分为value除以低位各基数乘积的商，低位部分为余数
+		BigInteger[] qr = value.divideAndRemainder(node.right.product);
+		toDigits(qr[0], node.left, digits);
+		toDigits(qr[1], node.right, digits);
+	}
+
+	private BigInteger fromDigits(int[] digits, Node node) {
+		if (node.product.bitLength() < Long.SIZE-1) {
+			long x = 0;
+			for (int col = node.from; col < node.to; col++) {
+				x = x*(n-col) + digits[col];
+			}
+			return BigInteger.valueOf(x);
+		}
+		return fromDigits(digits, node.left).multiply(node.right.product).add(fromDigits(digits, node.right));
+	}
+
+	private Node build(int from, int to) {
+		if (to-from == 1) {
+			return new Node(from, to, BigInteger.valueOf(n-from), null, null);
+		}
+		int mid = (from+to) >>> 1;
+		Node left = build(from, mid);
+		Node right = build(mid, to);
+		return new Node(from, to, left.product.multiply(right.product), left, right);
+	}
+
+	/** 乘积树节点：product为第from列到第to-1列基数的乘积 */
+	private static final class Node {
+		private final int from;
+		private final int to;
+		private final BigInteger product;
+		private final Node left;
+		private final Node right;
+
+		private Node(int from, int to, BigInteger product, Node left, Node right) {
+			this.from = from;
+			this.to = to;
+			this.product = product;
+			this.left = left;
+			this.right = right;
+		}
+	}
+}
@@ -0,0 +1,271 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 整数划分算法类
+ * 将正整数n表示为若干个正整数之和，可限定部分的个数不超过maxParts、每个部分不超过maxPart
+ * 每种划分以非递增的部分序列表示，行号顺序为部分序列的逆字典序，即第0行为首个部分最大的划分
+ * 例如n为4时依次为 4; 3+1; 2+2; 2+1+1; 1+1+1+1
+ * 构造时预先计算计数表，之后根据行号获取划分或根据划分计算行号都不再分配内存
+ * 限定部分个数时计数表的大小与 n*maxPart*maxParts 成正比，本类适用于n在数百以内的情况
+ * 对象构造后不再修改，可供多线程共享；逐行遍历请使用cursor，并行遍历请使用stream
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class IntegerPartition {
+	private final int n;
+	private final int maxParts;
+	private final int maxPart;
+	/** partsBounded 是否限定部分个数（maxParts小于n时） */
+	private final boolean partsBounded;
+	private final int partDim;
+	private final int partsDim;
+	/**
+	 * counts 将r划分为不超过p个部分、每个部分不超过m的方法数，下标为 (r*partDim+m)*partsDim+p
+	 * 不限定部分个数时p维只有一个元素；超过Long最大范围时记为Long.MAX_VALUE
+	 */
+	private final long[] counts;
+
+	/**
+	 * 不限定部分个数与大小
+	 * @param n 要划分的整数
+	 */
+	public IntegerPartition(int n) {
+		this(n, n, n);
+	}
+
+	/**
+	 * @param n 要划分的整数
+	 * @param maxParts 部分个数的上限
+	 * @param maxPart 每个部分的上限
+	 */
+	public IntegerPartition(int n, int maxParts, int maxPart) {
+		if (n < 0) {
+			throw new IllegalArgumentException("参数不能为负数");
+		}
+		this.n = n;
+		this.maxParts = Math.max(Math.min(maxParts, n), 0);
+		this.maxPart = Math.max(Math.min(maxPart, n), 0);
+		this.partsBounded = this.maxParts < n;
+		this.partDim = this.maxPart+1;
+		this.partsDim = partsBounded ? this.maxParts+1 : 1;
+		this.counts = new long[(n+1)*partDim*partsDim];
+		for (int r = 1; r <= n; r++) {
+			for (int m = 1; m <= this.maxPart; m++) {
+				for (int p = partsBounded ? 1 : 0; p < partsDim; p++) {
+					//Q(r, m, p) = Q(r, m-1, p) + Q(r-m, m, p-1)：不含大小为m的部分与至少含一个大小为m的部分
+					long count = count(r, m-1, p);
+					if (r >= m) {
+						count = add(count, count(r-m, m, p-1));
+					}
+					counts[(r*partDim+m)*partsDim+p] = count;
+				}
+			}
+		}
+	}
+
+	/** 计算将n划分为不超过maxParts个部分、每个部分不超过maxPart的方法数 */
+	public static long countIntegerPartition(int n, int maxParts, int maxPart) {
+		return new IntegerPartition(n, maxParts, maxPart).getCount();
+	}
+
+	/** 计算将n划分为不超过maxParts个部分、每个部分不超过maxPart的方法数（数据较大时使用） */
+	public static BigInteger countBigIntegerPartition(int n, int maxParts, int maxPart) {
+		if (n < 0) {
+			throw new IllegalArgumentException("参数不能为负数");
+		}
+		maxParts = Math.max(Math.min(maxParts, n), 0);
+		maxPart = Math.max(Math.min(maxPart, n), 0);
+		//dp[c][r] 使用c个部分组成r的方法数，按部分大小从1到maxPart依次加入
+		BigInteger[][] dp = new BigInteger[maxParts+1][n+1];
+		for (BigInteger[] counts : dp) {
+			Arrays.fill(counts, BigInteger.ZERO);
+		}
+		dp[0][0] = BigInteger.ONE;
+		for (int s = 1; s <= maxPart; s++) {
+			for (int c = 1; c <= maxParts; c++) {
+				for (int r = s; r <= n; r++) {
+					dp[c][r] = dp[c][r].add(dp[c-1][r-s]);
+				}
+			}
+		}
+		BigInteger count = BigInteger.ZERO;
+		for (int c = 0; c <= maxParts; c++) {
+			count = count.add(dp[c][n]);
+		}
+		return count;
+	}
+
+	/** 获取要划分的整数 */
+	public int getN() {
+		return n;
+	}
+
+	/** 获取部分个数的上限 */
+	public int getMaxParts() {
+		return maxParts;
+	}
+
+	/** 获取划分方法数 */
+	public long getCount() {
+		long count = count(n, maxPart, maxParts);
+		if (count == Long.MAX_VALUE) {
+			throw new IllegalArgumentException("数据量超过Long最大范围");
+		}
+		return count;
+	}
+
+	/**
+	 * 将第row行划分结果存入partitionArr中
+	 * @param partitionArr 存放各部分的数组，长度不小于部分个数的上限
+	 * @param row 要获得的划分结果的行号（从0开始）
+	 * @return 部分的个数
+	 */
+	public int integerPartition(int[] partitionArr, long row) {
+		if (row < 0 || row >= getCount()) {
+			throw new IllegalArgumentException("行号超出范围");
+		}
+		int r = n;
+		int m = maxPart;
+		int p = maxParts;
+		int len = 0;
+		while (r > 0) {
+			/*
+			 * 当前部分依次尝试从大到小的取值v
+			 * 剩余的r-v划分为不超过p-1个部分、每个部分不超过v的方法数即为该取值覆盖的行数
+			 */
+			for (int v = Math.min(m, r); v > 0; v--) {
+				long count = count(r-v, v, p-1);
+				if (row < count) {
+					partitionArr[len++] = v;
+					r -= v;
+					m = v;
+					p--;
+					break;
+				}
+				row -= count;
+			}
+		}
+		return len;
+	}
+
+	/**
+	 * 获得第row行划分结果
+	 * @param row 要获得的划分结果的行号（从0开始）
+	 * @return 各部分
+	 */
+	public int[] integerPartition(long row) {
+		int[] partitionArr = new int[maxParts];
+		int len = integerPartition(partitionArr, row);
+		return Arrays.copyOf(partitionArr, len);
+	}
+
+	/**
+	 * 根据划分结果计算其对应的行号
+	 * @param partitionArr 各部分（非递增，且不超过每个部分的上限）
+	 * @param len 部分的个数，不超过部分个数的上限
+	 * @return 行号
+	 */
+	public long getIntegerPartitionRow(int[] partitionArr, int len) {
+		if (len < 0 || len > maxParts || len > partitionArr.length) {
+			throw new IllegalArgumentException("部分的个数超出范围: " + len);
+		}
+		long sum = 0;
+		for (int i = 0; i < len; i++) {
+			if (partitionArr[i] <= 0 || partitionArr[i] > maxPart || (i > 0 && partitionArr[i] > partitionArr[i-1])) {
+				throw new IllegalArgumentException("各部分必须为正数、非递增且不超过上限: " + partitionArr[i]);
+			}
+			sum += partitionArr[i];
+		}
+		if (sum != n) {
+			throw new IllegalArgumentException("各部分之和不等于" + n + ": " + sum);
+		}
+		long row = 0;
+		int r = n;
+		int m = maxPart;
+		int p = maxParts;
+		for (int i = 0; i < len; i++) {
+			//跳过的每个较大取值对应的行数之和
+			for (int v = Math.min(m, r); v > partitionArr[i]; v--) {
+				row += count(r-v, v, p-1);
+			}
+			r -= partitionArr[i];
+			m = partitionArr[i];
+			p--;
+		}
+		return row;
+	}
+
+	/**
+	 * 获取从第start行到第end-1行逐行遍历的游标
+	 * @param start 起始行号（包含）
+	 * @param end 结束行号（不包含）
+	 * @return 游标
+	 */
+	public IntegerPartitionCursor cursor(long start, long end) {
+		return new IntegerPartitionCursor(this, start, end);
+	}
+
+	/** 获取遍历全部划分的游标 */
+	public IntegerPartitionCursor cursor() {
+		return cursor(0, getCount());
+	}
+
+	/**
+	 * 获取遍历全部划分的流，流中每个元素都是新数组，长度即部分的个数
+	 * 流可被拆分为行号区间以便并行处理
+	 * @param parallel 是否并行
+	 * @return 划分流
+	 */
+	public Stream<int[]> stream(boolean parallel) {
+		return StreamSupport.stream(new RowRangeSpliterator<IntegerPartitionCursor, int[]>(0, getCount(), this::cursor,
+				cursor -> Arrays.copyOf(cursor.getParts(), cursor.getLen())), parallel);
+	}
+
+	/**
+	 * 将r划分为不超过p个部分、每个部分不超过m的方法数
+	 */
+	long count(int r, int m, int p) {
+		if (r == 0) {
+			return 1;
+		}
+		if (m <= 0 || (partsBounded && p <= 0)) {
+			return 0;
+		}
+		return counts[(r*partDim+Math.min(m, r))*partsDim+(partsBounded ? p : 0)];
+	}
+
+	private static long add(long a, long b) {
+		long result = a+b;
+		return result < 0 ? Long.MAX_VALUE : result;
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+/**
+ * 整数划分游标类
+ * 在行号区间 [start, end) 内按逆字典序逐行遍历整数划分
+ * 构造时根据起始行号定位一次，之后每行由上一行直接推出，不再分配内存
+ * 本类不是线程安全的，每个线程应使用各自的游标
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class IntegerPartitionCursor implements RowRangeSpliterator.Cursor {
+	private final int maxParts;
+	/** parts 当前行的各部分，前len个有效 */
+	private final int[] parts;
+	private int len;
+	/** row 下一个要获取的行号 */
+	private long row;
+	private final long start;
+	private final long end;
+
+	IntegerPartitionCursor(IntegerPartition partition, long start, long end) {
+		this.maxParts = partition.getMaxParts();
+		this.parts = new int[maxParts];
+		this.start = start;
+		this.end = Math.min(end, partition.getCount());
+		this.row = start;
+		if (start < this.end) {
+			this.len = partition.integerPartition(parts, start);
+		}
+	}
+
+	/**
+	 * 前进到下一行
+	 * @return 已遍历到结束行号时返回false
+	 */
+	@Override
+	public boolean next() {
+		if (row >= end) {
+			return false;
+		}
+		if (row > start) {
+			advance();
+		}
+		row++;
+		return true;
+	}
+
+	/**
+	 * 获取当前行的各部分，前getLen()个有效
+	 * 返回的数组在游标前进时被改写，请勿修改
+	 * @return 各部分
+	 */
+	public int[] getParts() {
+		return parts;
+	}
+
+	/** 获取当前行部分的个数 */
+	public int getLen() {
+		return len;
+	}
+
+	/** 获取当前行号 */
+	@Override
+	public long getRow() {
+		return row-1;
+	}
+
+	/**
+	 * 从最后一个部分开始找到可以减1的部分parts[i]
+	 * 要求其后剩余的和能划分为不超过maxParts-i-1个、每个不超过parts[i]-1的部分
+	 * 再将剩余的和按从大到小的方式填入其后各部分
+	 */
+	private void advance() {
+		//rest 从第i个部分到最后一个部分的和
+		int rest = 0;
+		for (int i = len-1; i >= 0; i--) {
+			rest += parts[i];
+			int v = parts[i]-1;
+			int remain = rest-v;
+			if (v > 0 && (long) v*(maxParts-i-1) >= remain) {
+				parts[i] = v;
+				len = i+1;
+				while (remain > 0) {
+					int part = Math.min(v, remain);
+					parts[len++] = part;
+					remain -= part;
+				}
+				return;
+			}
+		}
+	}
+}
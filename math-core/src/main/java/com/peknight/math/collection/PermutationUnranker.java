@@ -0,0 +1,214 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+/**
+ * 全排列逆排序器
+ * 与给定的源数组及排列长度绑定，构造时预先计算各列的排列数表，并准备好计算时所需的临时数组
+ * 之后根据行号获取排列结果（unrankInto）或根据排列结果计算行号（rank）都不再分配内存，也不再重复计算排列数
+ * 行号顺序与Permutation中的行号一致
+ * 本类的对象持有临时数组，不是线程安全的，多线程使用时请通过threadLocal()或copy()为每个线程提供各自的对象
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class PermutationUnranker {
+	private final int[] data;
+	private final int len;
+	/** counts[col] 第col列每个下标对应的行数，即A(数据长度-col-1, 排列长度-col-1) */
+	private final long[] counts;
+	/** count 排列总数 */
+	private final long count;
+	/** sortedIndexes 按数据升序排列的源数组下标，用于根据数据查找下标 */
+	private final int[] sortedIndexes;
+	/** tree 记录未使用下标的树状数组（每次计算后复原），用于模拟从data中删除元素 */
+	private final int[] tree;
+	/** indexes 存放计算过程中的源数组下标 */
+	private final int[] indexes;
+
+	/**
+	 * @param data 给定的源数组
+	 * @param len 取出的数据长度
+	 */
+	public PermutationUnranker(int[] data, int len) {
+		if (len < 0 || len > data.length) {
+			throw new IllegalArgumentException("取出的数据长度超出源数据范围");
+		}
+		int dataSize = data.length;
+		this.data = data;
+		this.len = len;
+		this.counts = new long[len];
+		long count = 1;
+		for (int col = len-1; col >= 0; col--) {
+			counts[col] = count;
+			count = multiply(count, dataSize-col);
+		}
+		this.count = count;
+		this.sortedIndexes = ArrayUtils.sortIndexs(data);
+		this.tree = ArrayUtils.getIndexTree(dataSize);
+		this.indexes = new int[len];
+	}
+
+	private PermutationUnranker(PermutationUnranker prototype) {
+		this.data = prototype.data;
+		this.len = prototype.len;
+		this.counts = prototype.counts;
+		this.count = prototype.count;
+		this.sortedIndexes = prototype.sortedIndexes;
+		this.tree = prototype.tree.clone();
+		this.indexes = new int[len];
+	}
+
+	/**
+	 * 复制一个逆排序器，新对象与本对象共享只读的排列数表，但拥有各自的临时数组
+	 * @return 新的逆排序器
+	 */
+	public PermutationUnranker copy() {
+		return new PermutationUnranker(this);
+	}
+
+	/**
+	 * 创建一个为每个线程提供各自逆排序器的ThreadLocal，各线程的逆排序器共享同一份排列数表
+	 * @param data 给定的源数组
+	 * @param len 取出的数据长度
+	 * @return ThreadLocal
+	 */
+	public static ThreadLocal<PermutationUnranker> threadLocal(int[] data, int len) {
+		PermutationUnranker prototype = new PermutationUnranker(data, len);
+		return ThreadLocal.withInitial(prototype::copy);
+	}
+
+	/** 获取排列总数 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * 将第row行结果在源数组中的下标存入indexArr中
+	 * @param indexArr 存放下标的数组，长度不小于排列长度
+	 * @param row 要获得的排列结果的行号（从0开始）
+	 */
+	public void unrankIndexes(int[] indexArr, long row) {
+		//先检查参数再修改树状数组，避免计算中途抛出异常后树状数组无法复原
+		if (row < 0) {
+			throw new IllegalArgumentException("行号不能为负数");
+		}
+		if (indexArr.length < len) {
+			throw new IllegalArgumentException("数组长度小于排列长度");
+		}
+		row %= count;
+		for (int col = 0; col < len; col++) {
+			/*
+			 * 下标值为行号除以A(数据长度-已排列长度-1, 排列长度-已排列长度-1)的商
+			 * 在未使用的下标中取出第index个
+			 */
+			int index = (int) (row/counts[col]);
+			row -= index*counts[col];
+			indexArr[col] = ArrayUtils.getUnusedIndex(tree, index);
+			ArrayUtils.markUsed(tree, indexArr[col]);
+		}
+		for (int col = 0; col < len; col++) {
+			ArrayUtils.markUnused(tree, indexArr[col]);
+		}
+	}
+
+	/**
+	 * 将第row行结果存入permutationArr中
+	 * @param permutationArr 存放生成数据的数组，长度不小于排列长度
+	 * @param row 要获得的排列结果的行号（从0开始）
+	 */
+	public void unrankInto(int[] permutationArr, long row) {
+		unrankIndexes(indexes, row);
+		for (int col = 0; col < len; col++) {
+			permutationArr[col] = data[indexes[col]];
+		}
+	}
+
+	/**
+	 * 根据排列结果在源数组中的下标计算其对应的行号
+	 * @param indexArr 排列结果在源数组中的下标，不能重复
+	 * @return 行号
+	 */
+	public long rankIndexes(int[] indexArr) {
+		if (indexArr.length < len) {
+			throw new IllegalArgumentException("数组长度小于排列长度");
+		}
+		for (int col = 0; col < len; col++) {
+			if (indexArr[col] < 0 || indexArr[col] >= data.length) {
+				throw new IllegalArgumentException("下标超出源数组范围: " + indexArr[col]);
+			}
+		}
+		long row = 0;
+		int col = 0;
+		try {
+			for (; col < len; col++) {
+				//index 当前下标在未使用的下标中的序号
+				int index = ArrayUtils.countUnusedBefore(tree, indexArr[col]);
+				if (ArrayUtils.countUnusedBefore(tree, indexArr[col]+1) == index) {
+					throw new IllegalArgumentException("下标重复: " + indexArr[col]);
+				}
+				row += index*counts[col];
+				ArrayUtils.markUsed(tree, indexArr[col]);
+			}
+		} finally {
+			//无论是否抛出异常，都将已删除的下标放回树状数组
+			for (int i = 0; i < col; i++) {
+				ArrayUtils.markUnused(tree, indexArr[i]);
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * 根据排列结果计算其对应的行号
+	 * @param permutationArr 排列结果
+	 * @return 行号
+	 */
+	public long rank(int[] permutationArr) {
+		if (permutationArr.length < len) {
+			throw new IllegalArgumentException("数组长度小于排列长度");
+		}
+		for (int col = 0; col < len; col++) {
+			indexes[col] = indexOf(permutationArr[col]);
+		}
+		return rankIndexes(indexes);
+	}
+
+	/** 在源数组中查找数据的下标，相同数据取第一个 */
+	private int indexOf(int value) {
+		int index = ArrayUtils.indexOf(value, data, sortedIndexes);
+		if (index < 0) {
+			throw new IllegalArgumentException("数据不在源数组中: " + value);
+		}
+		return index;
+	}
+
+	private static long multiply(long a, long b) {
+		if (b != 0 && a > Long.MAX_VALUE / b) {
+			throw new IllegalArgumentException("数据量超过Long最大范围");
+		}
+		return a*b;
+	}
+}
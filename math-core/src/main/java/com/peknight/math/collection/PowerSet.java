@@ -0,0 +1,150 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.math.BigInteger;
+
+/**
+ * 幂集算法类
+ * 本类提供了一次性枚举给定数组中长度在 [minLen, maxLen] 范围内的所有子集的方法
+ * 与对每个长度分别调用Combination.combination相比，本类按前缀逐个扩展子集，共享前缀的子集不再重复生成前缀
+ * 每个子集恰好被访问一次，通过SubsetVisitor接收，枚举过程中不分配内存
+ * powerSet按下标字典序访问全部子集，速度最快
+ * groupedPowerSet按长度从小到大分组访问，每组内的顺序与Combination中的行号顺序一致
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class PowerSet {
+	private PowerSet() {}
+
+	/** 计算长度在 [minLen, maxLen] 范围内的子集个数 */
+	public static long countPowerSet(int n, int minLen, int maxLen) {
+		long count = 0;
+		for (int len = Math.max(minLen, 0); len <= Math.min(maxLen, n); len++) {
+			count += Combination.countCombination(n, len);
+			if (count < 0) {
+				throw new IllegalArgumentException("数据量超过Long最大范围");
+			}
+		}
+		return count;
+	}
+
+	/** 计算长度在 [minLen, maxLen] 范围内的子集个数（数据较大时使用） */
+	public static BigInteger countBigPowerSet(int n, int minLen, int maxLen) {
+		BigInteger count = BigInteger.ZERO;
+		for (int len = Math.max(minLen, 0); len <= Math.min(maxLen, n); len++) {
+			count = count.add(Combination.countBigCombination(n, len));
+		}
+		return count;
+	}
+
+	/**
+	 * 按下标字典序访问给定数组data的所有子集（包括空集）
+	 * @param data 给定的源数组
+	 * @param visitor 子集访问器
+	 */
+	public static void powerSet(int[] data, SubsetVisitor visitor) {
+		powerSet(data, 0, data.length, visitor);
+	}
+
+	/**
+	 * 按下标字典序访问给定数组data中长度在 [minLen, maxLen] 范围内的所有子集
+	 * 例如data为{1, 2, 3}时依次访问{}, {1}, {1, 2}, {1, 2, 3}, {1, 3}, {2}, {2, 3}, {3}
+	 * @param data 给定的源数组
+	 * @param minLen 子集的最小长度
+	 * @param maxLen 子集的最大长度
+	 * @param visitor 子集访问器
+	 */
+	public static void powerSet(int[] data, int minLen, int maxLen, SubsetVisitor visitor) {
+		minLen = Math.max(minLen, 0);
+		maxLen = Math.min(maxLen, data.length);
+		if (minLen > maxLen) {
+			return;
+		}
+		visit(data, new int[maxLen], new int[maxLen], minLen, maxLen, visitor);
+	}
+
+	/**
+	 * 按长度从小到大分组访问给定数组data中长度在 [minLen, maxLen] 范围内的所有子集
+	 * 每组内的访问顺序与Combination.combination(data, len)的行号顺序一致
+	 * @param data 给定的源数组
+	 * @param minLen 子集的最小长度
+	 * @param maxLen 子集的最大长度
+	 * @param visitor 子集访问器
+	 */
+	public static void groupedPowerSet(int[] data, int minLen, int maxLen, SubsetVisitor visitor) {
+		minLen = Math.max(minLen, 0);
+		maxLen = Math.min(maxLen, data.length);
+		if (minLen > maxLen) {
+			return;
+		}
+		int[] subsetArr = new int[maxLen];
+		int[] indexes = new int[maxLen];
+		for (int len = minLen; len <= maxLen; len++) {
+			visit(data, subsetArr, indexes, len, len, visitor);
+		}
+	}
+
+	/**
+	 * 按前缀扩展的方式访问子集
+	 * @param data 给定的源数组
+	 * @param subsetArr 存放子集的数组
+	 * @param indexes 子集中各元素在源数组中的下标
+	 * @param minLen 子集的最小长度
+	 * @param maxLen 子集的最大长度
+	 * @param visitor 子集访问器
+	 */
+	private static void visit(int[] data, int[] subsetArr, int[] indexes, int minLen, int maxLen, SubsetVisitor visitor) {
+		int dataSize = data.length;
+		if (minLen == 0) {
+			visitor.visit(subsetArr, 0);
+		}
+		//len 当前子集长度
+		int len = 0;
+		//dataIndex 下一个可加入子集的数据下标
+		int dataIndex = 0;
+		while (true) {
+			/*
+			 * 当前子集未达到最大长度
+			 * 并且加入data[dataIndex]后剩余的数据足够使子集达到最小长度时
+			 * 将data[dataIndex]加入子集
+			 */
+			if (len < maxLen && dataIndex <= dataSize-Math.max(1, minLen-len)) {
+				indexes[len] = dataIndex;
+				subsetArr[len++] = data[dataIndex++];
+				if (len >= minLen) {
+					visitor.visit(subsetArr, len);
+				}
+			} else {
+				//无法继续扩展时移除子集最后一个元素，改为尝试其后的数据
+				if (len == 0) {
+					return;
+				}
+				dataIndex = indexes[--len]+1;
+			}
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 行号区间拆分迭代器
+ * 按行号顺序遍历行号区间 [start, end) 内的结果，拆分时按行号区间对半拆分
+ * 开始遍历时才通过游标工厂创建游标，拆分出的各部分分别由各自的游标遍历，可用于并行流
+ * 笛卡尔积、集合划分、整数划分的流均由本类实现
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+class RowRangeSpliterator<C extends RowRangeSpliterator.Cursor, T> implements Spliterator<T> {
+	private final CursorFactory<C> factory;
+	private final Function<? super C, ? extends T> mapper;
+	private long start;
+	private final long end;
+	/** cursor 开始遍历后才创建，拆分只需修改行号区间 */
+	private C cursor;
+
+	/** 在行号区间内逐行前进的游标 */
+	interface Cursor {
+		/**
+		 * 前进到下一行
+		 * @return 已遍历到结束行号时返回false
+		 */
+		boolean next();
+
+		/** 获取当前行号 */
+		long getRow();
+	}
+
+	/** 游标工厂 */
+	interface CursorFactory<C> {
+		/**
+		 * 创建从第start行到第end-1行逐行遍历的游标
+		 * @param start 起始行号（包含）
+		 * @param end 结束行号（不包含）
+		 * @return 游标
+		 */
+		C cursor(long start, long end);
+	}
+
+	/**
+	 * @param start 起始行号（包含）
+	 * @param end 结束行号（不包含）
+	 * @param factory 游标工厂
+	 * @param mapper 由游标的当前行生成结果，每次都应返回新对象
+	 */
+	RowRangeSpliterator(long start, long end, CursorFactory<C> factory, Function<? super C, ? extends T> mapper) {
+		this.factory = factory;
+		this.mapper = mapper;
+		this.start = start;
+		this.end = end;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (cursor == null) {
+			cursor = factory.cursor(start, end);
+		}
+		if (!cursor.next()) {
+			return false;
+		}
+		action.accept(mapper.apply(cursor));
+		return true;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		long mid = start + (end-start)/2;
+		if (cursor != null || mid <= start) {
+			return null;
+		}
+		RowRangeSpliterator<C, T> prefix = new RowRangeSpliterator<C, T>(start, mid, factory, mapper);
+		start = mid;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return cursor == null ? end-start : end-cursor.getRow()-1;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+}
@@ -0,0 +1,440 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import com.peknight.math.factorial.Counting;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 集合划分算法类
+ * 将n个元素划分为若干个非空子集（块），块数可限定在 [minBlocks, maxBlocks] 范围内，
+ * 每个块的元素个数（块大小）可限定在 [minBlockSize, maxBlockSize] 范围内
+ * 每种划分以限制增长串（restricted growth string）表示：rgsArr[i]为第i个元素所在块的编号，
+ * 块按首个元素的顺序从0开始编号，因此 rgsArr[0] = 0，且 rgsArr[i] 不超过 max(rgsArr[0..i-1])+1
+ * 行号顺序即限制增长串的字典序
+ * 构造时预先计算状态表：状态为已放入的元素个数及各大小的块的个数，表中记录每个状态下剩余元素的分配方法数，
+ * 以及将下一个元素放入某个大小的块（或新开一个块）后到达的状态
+ * 不限块大小时状态只需记录块数，状态表的大小与 n*maxBlocks 成正比；
+ * 限定块大小时状态数随n的增长迅速增加，状态表超过MAX_TABLE_SIZE时拒绝构造，本类适用于n在数十以内的情况
+ * 之后根据行号获取划分或根据划分计算行号只需一个记录各块大小的临时数组
+ * 对象构造后不再修改，可供多线程共享；逐行遍历请使用cursor，并行遍历请使用stream
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class SetPartition {
+	/** 状态表的最大元素个数（状态数*块大小的类别数），超过时拒绝构造 */
+	private static final int MAX_TABLE_SIZE = 1 << 23;
+
+	private final int n;
+	private final int minBlocks;
+	private final int maxBlocks;
+	private final int minBlockSize;
+	private final int maxBlockSize;
+	/** sizeBounded 是否限定块大小的上限（maxBlockSize小于n时） */
+	private final boolean sizeBounded;
+	/**
+	 * width 块大小的类别数+1，类别0表示新开一个块
+	 * 限定上限时块大小即类别；不限上限时大小不小于minBlockSize的块可接收的元素相同，归为同一类
+	 */
+	private final int width;
+	/** counts[state] 处于该状态时剩余元素的分配方法数（使最终划分满足限制），超过Long最大范围时记为Long.MAX_VALUE */
+	private final long[] counts;
+	/** transitions[state*width+c] 将下一个元素放入类别为c的块后到达的状态，不可行时为-1；状态0为尚未放入元素的状态 */
+	private final int[] transitions;
+
+	/**
+	 * 不限块数与块大小
+	 * @param n 元素个数
+	 */
+	public SetPartition(int n) {
+		this(n, 0, n);
+	}
+
+	/**
+	 * 不限块大小
+	 * @param n 元素个数
+	 * @param minBlocks 最少块数
+	 * @param maxBlocks 最多块数
+	 */
+	public SetPartition(int n, int minBlocks, int maxBlocks) {
+		this(n, minBlocks, maxBlocks, 1, n);
+	}
+
+	/**
+	 * @param n 元素个数
+	 * @param minBlocks 最少块数
+	 * @param maxBlocks 最多块数
+	 * @param minBlockSize 每个块最少的元素个数
+	 * @param maxBlockSize 每个块最多的元素个数
+	 */
+	public SetPartition(int n, int minBlocks, int maxBlocks, int minBlockSize, int maxBlockSize) {
+		if (n < 0) {
+			throw new IllegalArgumentException("参数不能为负数");
+		}
+		this.n = n;
+		this.minBlocks = Math.max(minBlocks, 0);
+		this.maxBlocks = Math.min(maxBlocks, n);
+		this.minBlockSize = Math.max(minBlockSize, 1);
+		this.maxBlockSize = Math.min(maxBlockSize, n);
+		this.sizeBounded = this.maxBlockSize < n;
+		this.width = (sizeBounded ? Math.max(this.maxBlockSize, 0) : Math.min(this.minBlockSize, Math.max(n, 1)))+1;
+
+		/*
+		 * 按已放入的元素个数逐层生成状态，状态以各类别的块数表示（下标0不使用）
+		 * 第placed层的状态编号为 [layerStarts[placed], layerStarts[placed+1])，每层只需保留本层状态用于去重
+		 */
+		int[] layerStarts = new int[n+2];
+		layerStarts[1] = 1;
+		int[] transitions = new int[width];
+		int[] multiplicities = new int[width];
+		List<int[]> layer = new ArrayList<int[]>();
+		layer.add(new int[width]);
+		for (int placed = 0; placed < n; placed++) {
+			Map<Profile, Integer> nextIds = new HashMap<Profile, Integer>();
+			List<int[]> nextLayer = new ArrayList<int[]>();
+			int from = layerStarts[placed];
+			int to = layerStarts[placed+1];
+			if ((long) to*width > MAX_TABLE_SIZE) {
+				throw new IllegalArgumentException("块数或块大小的限制使状态数过多");
+			}
+			if (to*width > transitions.length) {
+				int capacity = (int) Math.min(Math.max(to*width, 2L*transitions.length), MAX_TABLE_SIZE);
+				transitions = Arrays.copyOf(transitions, capacity);
+				multiplicities = Arrays.copyOf(multiplicities, capacity);
+			}
+			for (int state = from; state < to; state++) {
+				int[] profile = layer.get(state-from);
+				for (int c = 0; c < width; c++) {
+					int[] target = grow(profile, c);
+					int next = -1;
+					if (target != null && feasible(target, n-placed-1)) {
+						Profile key = new Profile(target);
+						Integer id = nextIds.get(key);
+						if (id == null) {
+							id = to+nextLayer.size();
+							nextIds.put(key, id);
+							nextLayer.add(target);
+						}
+						next = id;
+					}
+					transitions[state*width+c] = next;
+					multiplicities[state*width+c] = c == 0 ? 1 : profile[c];
+				}
+			}
+			layerStarts[placed+2] = to+nextLayer.size();
+			layer = nextLayer;
+		}
+		int states = layerStarts[n+1];
+		this.counts = new long[states];
+		for (int state = layerStarts[n]; state < states; state++) {
+			counts[state] = feasible(layer.get(state-layerStarts[n]), 0) ? 1 : 0;
+		}
+		for (int state = layerStarts[n]-1; state >= 0; state--) {
+			//下一个元素放入某个已有的块（同类别的块各算一种）或新开一个块
+			long count = 0;
+			for (int c = 0; c < width; c++) {
+				int next = transitions[state*width+c];
+				if (next >= 0) {
+					count = add(count, multiply(multiplicities[state*width+c], counts[next]));
+				}
+			}
+			counts[state] = count;
+		}
+		this.transitions = Arrays.copyOf(transitions, layerStarts[n]*width);
+	}
+
+	/**
+	 * 将一个元素放入类别为c的块后的状态
+	 * @return 不满足块数或块大小上限时返回null
+	 */
+	private int[] grow(int[] profile, int c) {
+		if (c == 0) {
+			int blocks = 0;
+			for (int count : profile) {
+				blocks += count;
+			}
+			if (blocks >= maxBlocks || maxBlockSize < 1) {
+				return null;
+			}
+		} else if (profile[c] == 0 || (sizeBounded && c >= maxBlockSize)) {
+			return null;
+		}
+		int[] target = profile.clone();
+		if (c > 0) {
+			target[c]--;
+		}
+		target[Math.min(c+1, width-1)]++;
+		return target;
+	}
+
+	/**
+	 * 剩余rest个元素时，状态profile是否可能满足全部限制
+	 * 依次检查：块数上限、已有的块补足minBlockSize所需的元素、补足minBlocks所需的新块以及全部块的容量
+	 * rest为0时即为判断状态对应的划分是否满足全部限制
+	 */
+	private boolean feasible(int[] profile, int rest) {
+		long blocks = 0;
+		long deficit = 0;
+		long capacity = 0;
+		for (int c = 1; c < width; c++) {
+			blocks += profile[c];
+			deficit += (long) profile[c]*Math.max(minBlockSize-c, 0);
+			capacity += (long) profile[c]*(maxBlockSize-c);
+		}
+		capacity += (maxBlocks-blocks)*maxBlockSize;
+		return blocks <= maxBlocks && deficit+Math.max(minBlocks-blocks, 0)*minBlockSize <= rest
+				&& (!sizeBounded || capacity >= rest);
+	}
+
+	/** 计算n个元素划分为 [minBlocks, maxBlocks] 个块的方法数 */
+	public static long countSetPartition(int n, int minBlocks, int maxBlocks) {
+		long count = 0;
+		for (int k = Math.max(minBlocks, 0); k <= Math.min(maxBlocks, n); k++) {
+			count += Counting.countStirling2(n, k);
+			if (count < 0) {
+				throw new IllegalArgumentException("数据量超过Long最大范围");
+			}
+		}
+		return count;
+	}
+
+	/** 计算n个元素划分为 [minBlocks, maxBlocks] 个块的方法数（数据较大时使用） */
+	public static BigInteger countBigSetPartition(int n, int minBlocks, int maxBlocks) {
+		BigInteger count = BigInteger.ZERO;
+		for (int k = Math.max(minBlocks, 0); k <= Math.min(maxBlocks, n); k++) {
+			count = count.add(Counting.countBigStirling2(n, k));
+		}
+		return count;
+	}
+
+	/** 获取元素个数 */
+	public int getN() {
+		return n;
+	}
+
+	/** 获取划分方法数 */
+	public long getCount() {
+		long count = counts[0];
+		if (count == Long.MAX_VALUE) {
+			throw new IllegalArgumentException("数据量超过Long最大范围");
+		}
+		return count;
+	}
+
+	/**
+	 * 将第row行划分结果存入rgsArr中
+	 * @param rgsArr 存放限制增长串的数组，长度不小于元素个数
+	 * @param row 要获得的划分结果的行号（从0开始）
+	 */
+	public void setPartition(int[] rgsArr, long row) {
+		if (row < 0 || row >= getCount()) {
+			throw new IllegalArgumentException("行号超出范围");
+		}
+		if (rgsArr.length < n) {
+			throw new IllegalArgumentException("数组长度小于元素个数");
+		}
+		//sizes 各块的元素个数
+		int[] sizes = new int[n];
+		int state = 0;
+		//blocks 已使用的块数
+		int blocks = 0;
+		for (int i = 0; i < n; i++) {
+			/*
+			 * 第i个元素依次尝试放入第0个到第blocks个块
+			 * 放入第v个块后剩余元素的分配方法数即为该选择覆盖的行数
+			 */
+			for (int v = 0; v <= blocks; v++) {
+				int next = transition(state, v == blocks ? 0 : sizes[v]);
+				long count = next < 0 ? 0 : counts[next];
+				if (row < count) {
+					rgsArr[i] = v;
+					sizes[v]++;
+					if (v == blocks) {
+						blocks++;
+					}
+					state = next;
+					break;
+				}
+				row -= count;
+			}
+		}
+	}
+
+	/**
+	 * 获得第row行划分结果
+	 * @param row 要获得的划分结果的行号（从0开始）
+	 * @return 限制增长串
+	 */
+	public int[] setPartition(long row) {
+		int[] rgsArr = new int[n];
+		setPartition(rgsArr, row);
+		return rgsArr;
+	}
+
+	/**
+	 * 根据划分结果计算其对应的行号
+	 * @param rgsArr 限制增长串，需满足块数与块大小的限制
+	 * @return 行号
+	 */
+	public long getSetPartitionRow(int[] rgsArr) {
+		if (rgsArr.length < n) {
+			throw new IllegalArgumentException("数组长度小于元素个数");
+		}
+		long row = 0;
+		int[] sizes = new int[n];
+		int state = 0;
+		int blocks = 0;
+		for (int i = 0; i < n; i++) {
+			int value = rgsArr[i];
+			if (value < 0 || value > blocks) {
+				throw new IllegalArgumentException("不是合法的限制增长串: " + Arrays.toString(rgsArr));
+			}
+			//跳过的每个块对应的行数之和
+			for (int v = 0; v < value; v++) {
+				int next = transition(state, sizes[v]);
+				if (next >= 0) {
+					row += counts[next];
+				}
+			}
+			state = transition(state, value == blocks ? 0 : sizes[value]);
+			if (!feasible(state)) {
+				throw new IllegalArgumentException("划分不满足块数或块大小的限制: " + Arrays.toString(rgsArr));
+			}
+			sizes[value]++;
+			if (value == blocks) {
+				blocks++;
+			}
+		}
+		if (n == 0 && !feasible(state)) {
+			throw new IllegalArgumentException("划分不满足块数的限制");
+		}
+		return row;
+	}
+
+	/**
+	 * 将限制增长串转换为各块的元素
+	 * @param rgsArr 限制增长串
+	 * @param data 给定的源数组
+	 * @return 各块的元素
+	 */
+	public static int[][] toBlocks(int[] rgsArr, int[] data) {
+		int blocks = 0;
+		int[] sizes = new int[data.length];
+		for (int i = 0; i < data.length; i++) {
+			blocks = Math.max(blocks, rgsArr[i]+1);
+			sizes[rgsArr[i]]++;
+		}
+		int[][] blockArrs = new int[blocks][];
+		for (int b = 0; b < blocks; b++) {
+			blockArrs[b] = new int[sizes[b]];
+			sizes[b] = 0;
+		}
+		for (int i = 0; i < data.length; i++) {
+			blockArrs[rgsArr[i]][sizes[rgsArr[i]]++] = data[i];
+		}
+		return blockArrs;
+	}
+
+	/**
+	 * 获取从第start行到第end-1行逐行遍历的游标
+	 * @param start 起始行号（包含）
+	 * @param end 结束行号（不包含）
+	 * @return 游标
+	 */
+	public SetPartitionCursor cursor(long start, long end) {
+		return new SetPartitionCursor(this, start, end);
+	}
+
+	/** 获取遍历全部划分的游标 */
+	public SetPartitionCursor cursor() {
+		return cursor(0, getCount());
+	}
+
+	/**
+	 * 获取遍历全部划分的流，流中每个元素都是新的限制增长串
+	 * 流可被拆分为行号区间以便并行处理
+	 * @param parallel 是否并行
+	 * @return 划分流
+	 */
+	public Stream<int[]> stream(boolean parallel) {
+		return StreamSupport.stream(new RowRangeSpliterator<SetPartitionCursor, int[]>(0, getCount(), this::cursor,
+				cursor -> cursor.getRgs().clone()), parallel);
+	}
+
+	/**
+	 * 将下一个元素放入大小为size的块（size为0表示新开一个块）后到达的状态
+	 * @return 不可行时返回-1
+	 */
+	int transition(int state, int size) {
+		return transitions[state*width+Math.min(size, width-1)];
+	}
+
+	/**
+	 * 状态是否存在满足限制的剩余元素分配方法
+	 */
+	boolean feasible(int state) {
+		return state >= 0 && counts[state] > 0;
+	}
+
+	private static long multiply(long a, long b) {
+		if (b != 0 && a > Long.MAX_VALUE / b) {
+			return Long.MAX_VALUE;
+		}
+		return a*b;
+	}
+
+	private static long add(long a, long b) {
+		long result = a+b;
+		return result < 0 ? Long.MAX_VALUE : result;
+	}
+
+	/** 各类别的块数，用作同一层中状态去重的键 */
+	private static final class Profile {
+		private final int[] counts;
+
+		private Profile(int[] counts) {
+			this.counts = counts;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Profile && Arrays.equals(counts, ((Profile) obj).counts);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(counts);
+		}
+	}
+}
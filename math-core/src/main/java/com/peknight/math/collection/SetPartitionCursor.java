@@ -0,0 +1,142 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+/**
+ * 集合划分游标类
+ * 在行号区间 [start, end) 内按字典序逐行遍历限制增长串
+ * 构造时根据起始行号定位一次，之后每行由上一行直接推出，不再分配内存
+ * 本类不是线程安全的，每个线程应使用各自的游标
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class SetPartitionCursor implements RowRangeSpliterator.Cursor {
+	private final SetPartition partition;
+	private final int n;
+	/** rgs 当前行的限制增长串 */
+	private final int[] rgs;
+	/** blocks[i] 前i+1个元素使用的块数 */
+	private final int[] blocks;
+	/** states[i] 放入前i+1个元素后的状态 */
+	private final int[] states;
+	/** sizes 当前行各块的元素个数 */
+	private final int[] sizes;
+	/** row 下一个要获取的行号 */
+	private long row;
+	private final long start;
+	private final long end;
+
+	SetPartitionCursor(SetPartition partition, long start, long end) {
+		this.partition = partition;
+		this.n = partition.getN();
+		this.rgs = new int[n];
+		this.blocks = new int[n];
+		this.states = new int[n];
+		this.sizes = new int[n];
+		this.start = start;
+		this.end = Math.min(end, partition.getCount());
+		this.row = start;
+		if (start < this.end) {
+			partition.setPartition(rgs, start);
+			for (int i = 0; i < n; i++) {
+				int used = i == 0 ? 0 : blocks[i-1];
+				states[i] = partition.transition(i == 0 ? 0 : states[i-1], rgs[i] == used ? 0 : sizes[rgs[i]]);
+				blocks[i] = Math.max(used, rgs[i]+1);
+				sizes[rgs[i]]++;
+			}
+		}
+	}
+
+	/**
+	 * 前进到下一行
+	 * @return 已遍历到结束行号时返回false
+	 */
+	@Override
+	public boolean next() {
+		if (row >= end) {
+			return false;
+		}
+		if (row > start) {
+			advance();
+		}
+		row++;
+		return true;
+	}
+
+	/**
+	 * 获取当前行的限制增长串
+	 * 返回的数组在游标前进时被改写，请勿修改
+	 * @return 限制增长串
+	 */
+	public int[] getRgs() {
+		return rgs;
+	}
+
+	/** 获取当前行号 */
+	@Override
+	public long getRow() {
+		return row-1;
+	}
+
+	/**
+	 * 从最后一个元素开始依次将元素取出，找到能放入下一个块的元素，其后的元素依次放入编号最小的可行块
+	 * 第0个元素只能放入第0个块，因此只需检查到第1个元素
+	 */
+	private void advance() {
+		for (int i = n-1; i > 0; i--) {
+			sizes[rgs[i]]--;
+			if (tryPlace(i, rgs[i]+1)) {
+				fill(i+1);
+				return;
+			}
+		}
+	}
+
+	private void fill(int from) {
+		for (int i = from; i < n; i++) {
+			tryPlace(i, 0);
+		}
+	}
+
+	/**
+	 * 将第i个元素放入编号不小于from的第一个可行块
+	 * @return 不存在可行块时返回false
+	 */
+	private boolean tryPlace(int i, int from) {
+		int used = blocks[i-1];
+		for (int v = from; v <= used; v++) {
+			int next = partition.transition(states[i-1], v == used ? 0 : sizes[v]);
+			if (partition.feasible(next)) {
+				rgs[i] = v;
+				blocks[i] = v == used ? used+1 : used;
+				states[i] = next;
+				sizes[v]++;
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.collection;
+
+import java.math.BigInteger;
+
+/**
+ * 分片规划类
+ * 将 [0, count) 的行号区间均分为若干片，各片的行数最多相差1，边界使用BigInteger精确计算
+ * 每片以一个检查点表示，在各进程中通过new EnumerationCursor(checkpoint)只需一次逆排序即可定位到分片起点
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class ShardPlanner {
+	private ShardPlanner() {}
+
+	/**
+	 * 将 [0, count) 均分为shardCount片
+	 * @param count 总行数
+	 * @param shardCount 分片数
+	 * @return 长度为shardCount+1的边界数组，第i片为 [boundaries[i], boundaries[i+1])
+	 */
+	public static BigInteger[] plan(BigInteger count, int shardCount) {
+		if (shardCount <= 0) {
+			throw new IllegalArgumentException("分片数必须大于0");
+		}
+		if (count.signum() < 0) {
+			throw new IllegalArgumentException("总行数不能为负数");
+		}
+		BigInteger shards = BigInteger.valueOf(shardCount);
+		BigInteger[] boundaries = new BigInteger[shardCount+1];
+		for (int i = 0; i <= shardCount; i++) {
+			//第i个边界为 floor(count*i/shardCount)
+			boundaries[i] = count.multiply(BigInteger.valueOf(i)).divide(shards);
+		}
+		return boundaries;
+	}
+
+	/**
+	 * 将从n个数据中取出len个数据进行组合的所有行号均分为shardCount片
+	 * @param n 源数据长度
+	 * @param len 取出的数据长度
+	 * @param shardCount 分片数
+	 * @return 各分片的起始检查点
+	 */
+	public static Checkpoint[] planCombination(int n, int len, int shardCount) {
+		return plan(Checkpoint.Type.COMBINATION, n, len, shardCount);
+	}
+
+	/**
+	 * 将从n个数据中取出len个数据进行全排列的所有行号均分为shardCount片
+	 * @param n 源数据长度
+	 * @param len 取出的数据长度
+	 * @param shardCount 分片数
+	 * @return 各分片的起始检查点
+	 */
+	public static Checkpoint[] planPermutation(int n, int len, int shardCount) {
+		return plan(Checkpoint.Type.PERMUTATION, n, len, shardCount);
+	}
+
+	private static Checkpoint[] plan(Checkpoint.Type type, int n, int len, int shardCount) {
+		BigInteger[] boundaries = plan(Checkpoint.count(type, n, len), shardCount);
+		Checkpoint[] checkpoints = new Checkpoint[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			checkpoints[i] = new Checkpoint(type, n, len, boundaries[i], boundaries[i+1]);
+		}
+		return checkpoints;
+	}
+}
@@ -0,0 +1,446 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.factorial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * 计数算法类
+ * 本类提供了多项式系数、斯特林数（第一类、第二类）、贝尔数、卡特兰数以及错排数的计算方法
+ * 所有结果均按递推关系计算，较小的参数对应的结果存入表中，表在查询时按需延长，延长后的表可供多线程安全读取
+ * 表中数据未超过Long最大范围时以long存储，超过后自动转为BigInteger存储
+ * 斯特林数只缓存前TRIANGLE_LIMIT行，更大的参数按需滚动计算，只保留第k列及其左侧必要的部分，
+ * 内存与k成正比，时间与 n*min(k, n-k) 成正比，结果不会常驻内存
+ * 贝尔数按贝尔三角形滚动计算，卡特兰数、错排数逐项计算，这三个数列的各项以BigInteger缓存，总大小与参数的平方成正比
+ * 多项式系数仅在总长度较小时读表，总长度较大时按乘法公式或素因数分解计算，不受此限制
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class Counting {
+	private Counting() {}
+
+	/** 表中用于标记数据超过Long最大范围的值（计数结果均为非负数） */
+	private static final long OVERFLOW = -1L;
+
+	/** 三角形表缓存的最大行号，更大的行按需滚动计算（缓存的两张斯特林数表合计不足1MB） */
+	private static final int TRIANGLE_LIMIT = 128;
+
+	/** 二项式系数表 C(n, k) = C(n-1, k-1) + C(n-1, k)，仅用于n不超过BINOMIAL_LIMIT的情况 */
+	private static final Triangle BINOMIAL = new Triangle((n, k) -> 1);
+
+	/** 二项式系数表的最大行号，C(66, k)均未超过Long最大范围 */
+	private static final int BINOMIAL_LIMIT = 66;
+
+	/** 无符号第一类斯特林数表 s(n, k) = s(n-1, k-1) + (n-1)*s(n-1, k) */
+	private static final Triangle STIRLING1 = new Triangle((n, k) -> n-1);
+
+	/** 第二类斯特林数表 S(n, k) = S(n-1, k-1) + k*S(n-1, k) */
+	private static final Triangle STIRLING2 = new Triangle((n, k) -> k);
+
+	/**
+	 * 贝尔数表，按贝尔三角形递推：第n行首项为第n-1行末项，其余各项为左侧一项与上一行同列左侧一项之和，B(n)为第n行首项
+	 * 只保留贝尔三角形的最后一行以便继续延长
+	 */
+	private static final Sequence BELL = new Sequence() {
+		private BigInteger[] row;
+
+		@Override
+		BigInteger next(BigInteger[] values, int n) {
+			if (n == 0) {
+				row = new BigInteger[] {BigInteger.ONE};
+				return BigInteger.ONE;
+			}
+			BigInteger[] previous = row;
+			row = new BigInteger[n+1];
+			row[0] = previous[n-1];
+			for (int i = 1; i <= n; i++) {
+				row[i] = row[i-1].add(previous[i-1]);
+			}
+			return row[0];
+		}
+	};
+
+	/** 卡特兰数表 Cat(n) = Cat(n-1)*2*(2n-1)/(n+1) */
+	private static final Sequence CATALAN = new Sequence() {
+		@Override
+		BigInteger next(BigInteger[] values, int n) {
+			if (n == 0) {
+				return BigInteger.ONE;
+			}
+			return values[n-1].multiply(BigInteger.valueOf(2L*(2*n-1))).divide(BigInteger.valueOf(n+1));
+		}
+	};
+
+	/** 错排数表 D(n) = (n-1)*(D(n-1) + D(n-2)) */
+	private static final Sequence DERANGEMENT = new Sequence() {
+		@Override
+		BigInteger next(BigInteger[] values, int n) {
+			if (n == 0) {
+				return BigInteger.ONE;
+			}
+			if (n == 1) {
+				return BigInteger.ZERO;
+			}
+			return values[n-1].add(values[n-2]).multiply(BigInteger.valueOf(n-1));
+		}
+	};
+
+	/**
+	 * 计算多项式系数 (k1+k2+...+km)! / (k1!*k2!*...*km!)
+	 * 结果为 C(k1, k1)*C(k1+k2, k2)*...*C(k1+k2+...+km, km)，总长度较小时读表，否则按乘法公式计算各组合数
+	 * @param ks 各组的数据长度
+	 * @return 多项式系数
+	 */
+	public static long countMultinomial(int... ks) {
+		int sum = sum(ks);
+		long result = 1;
+		int prefixSum = 0;
+		for (int k : ks) {
+			prefixSum += k;
+			long binomial = sum <= BINOMIAL_LIMIT ? BINOMIAL.value(prefixSum, k) : binomial(prefixSum, k);
+			result = multiply(result, binomial);
+			if (result == OVERFLOW) {
+				throw new IllegalArgumentException("数据量超过Long最大范围");
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 计算多项式系数 (k1+k2+...+km)! / (k1!*k2!*...*km!)（数据较大时使用）
+	 * 总长度较小时读表，否则通过素因数分解计算，不构造二项式系数表
+	 * @param ks 各组的数据长度
+	 * @return 多项式系数
+	 */
+	public static BigInteger countBigMultinomial(int... ks) {
+		int sum = sum(ks);
+		if (sum > BINOMIAL_LIMIT) {
+			return PrimeFactorial.bigMultinomial(ks);
+		}
+		BigInteger result = BigInteger.ONE;
+		int prefixSum = 0;
+		for (int k : ks) {
+			prefixSum += k;
+			result = result.multiply(BigInteger.valueOf(BINOMIAL.value(prefixSum, k)));
+		}
+		return result;
+	}
+
+	/** 计算无符号第一类斯特林数（n个元素组成k个轮换的方法数） */
+	public static long countStirling1(int n, int k) {
+		return STIRLING1.value(n, k);
+	}
+
+	/** 计算无符号第一类斯特林数（数据较大时使用） */
+	public static BigInteger countBigStirling1(int n, int k) {
+		return STIRLING1.bigValue(n, k);
+	}
+
+	/** 计算第二类斯特林数（n个元素划分为k个非空子集的方法数） */
+	public static long countStirling2(int n, int k) {
+		return STIRLING2.value(n, k);
+	}
+
+	/** 计算第二类斯特林数（数据较大时使用） */
+	public static BigInteger countBigStirling2(int n, int k) {
+		return STIRLING2.bigValue(n, k);
+	}
+
+	/** 计算贝尔数（n个元素的集合划分数） */
+	public static long countBell(int n) {
+		return BELL.value(n);
+	}
+
+	/** 计算贝尔数（数据较大时使用） */
+	public static BigInteger countBigBell(int n) {
+		return BELL.bigValue(n);
+	}
+
+	/** 计算卡特兰数 */
+	public static long countCatalan(int n) {
+		return CATALAN.value(n);
+	}
+
+	/** 计算卡特兰数（数据较大时使用） */
+	public static BigInteger countBigCatalan(int n) {
+		return CATALAN.bigValue(n);
+	}
+
+	/** 计算错排数 */
+	public static long countDerangement(int n) {
+		return DERANGEMENT.value(n);
+	}
+
+	/** 计算错排数（数据较大时使用） */
+	public static BigInteger countBigDerangement(int n) {
+		return DERANGEMENT.bigValue(n);
+	}
+
+	private static void checkArgument(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("参数不能为负数");
+		}
+	}
+
+	/** 计算各组数据长度之和 */
+	private static int sum(int[] ks) {
+		int sum = 0;
+		for (int k : ks) {
+			checkArgument(k);
+			if (k > Integer.MAX_VALUE-sum) {
+				throw new IllegalArgumentException("参数超出范围");
+			}
+			sum += k;
+		}
+		return sum;
+	}
+
+	/**
+	 * 按乘法公式计算组合数 C(n, k)，超过Long最大范围时返回OVERFLOW
+	 * 依次计算C(n-k+1, 1), C(n-k+2, 2), ..., C(n, k)，中间结果不超过最终结果
+	 */
+	private static long binomial(int n, int k) {
+		k = Math.min(k, n-k);
+		long result = 1;
+		for (int i = 1; i <= k; i++) {
+			long gcd = gcd(result, i);
+			result = multiply(result/gcd, (n-k+i)/(i/gcd));
+			if (result == OVERFLOW) {
+				return OVERFLOW;
+			}
+		}
+		return result;
+	}
+
+	private static long gcd(long a, long b) {
+		while (b != 0) {
+			long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+	/** 两个非负数相乘，超过Long最大范围时返回OVERFLOW */
+	private static long multiply(long a, long b) {
+		if (a == OVERFLOW || b == OVERFLOW) {
+			return OVERFLOW;
+		}
+		if (b != 0 && a > Long.MAX_VALUE / b) {
+			return OVERFLOW;
+		}
+		return a * b;
+	}
+
+	/** 两个非负数相加，超过Long最大范围时返回OVERFLOW */
+	private static long add(long a, long b) {
+		if (a == OVERFLOW || b == OVERFLOW) {
+			return OVERFLOW;
+		}
+		long result = a + b;
+		return result < 0 ? OVERFLOW : result;
+	}
+
+	/**
+	 * 三角形表中的一行
+	 * values[k]为OVERFLOW时，实际值存放在bigValues[k]中
+	 * 一行数据全部未超过Long最大范围时bigValues为null
+	 */
+	private static final class Row {
+		private final long[] values;
+		private final BigInteger[] bigValues;
+
+		private Row(long[] values, BigInteger[] bigValues) {
+			this.values = values;
+			this.bigValues = bigValues;
+		}
+
+		private long value(int k) {
+			return k < 0 || k >= values.length ? 0 : values[k];
+		}
+
+		private BigInteger bigValue(int k) {
+			if (k < 0 || k >= values.length) {
+				return BigInteger.ZERO;
+			}
+			return values[k] == OVERFLOW ? bigValues[k] : BigInteger.valueOf(values[k]);
+		}
+	}
+
+	/**
+	 * 按 T(n, k) = T(n-1, k-1) + coefficient(n, k)*T(n-1, k) 递推的三角形表，T(0, 0) = 1
+	 * 只缓存前TRIANGLE_LIMIT行，更大的行按需滚动计算，不存入表中
+	 * rows引用的数组及其中的行一经发布便不再修改，读取时无需加锁
+	 */
+	private static final class Triangle {
+		private final IntBinaryOperator coefficient;
+		private volatile Row[] rows = {new Row(new long[] {1L}, null)};
+
+		private Triangle(IntBinaryOperator coefficient) {
+			this.coefficient = coefficient;
+		}
+
+		private long value(int n, int k) {
+			checkArgument(n);
+			if (n <= TRIANGLE_LIMIT) {
+				long value = row(n).value(k);
+				if (value == OVERFLOW) {
+					throw new IllegalArgumentException("数据量超过Long最大范围");
+				}
+				return value;
+			}
+			BigInteger value = compute(n, k);
+			if (value.bitLength() >= Long.SIZE) {
+				throw new IllegalArgumentException("数据量超过Long最大范围");
+			}
+			return value.longValue();
+		}
+
+		private BigInteger bigValue(int n, int k) {
+			checkArgument(n);
+			return n <= TRIANGLE_LIMIT ? row(n).bigValue(k) : compute(n, k);
+		}
+
+		/**
+		 * 滚动计算T(n, k)
+		 * 第i行只需计算第 max(0, k-n+i) 列到第 min(i, k) 列，每行不超过 min(k, n-k)+1 个值
+		 * 同一数组从右向左逐列覆盖，覆盖前的值即为上一行的值
+		 */
+		private BigInteger compute(int n, int k) {
+			if (k < 0 || k > n) {
+				return BigInteger.ZERO;
+			}
+			BigInteger[] values = new BigInteger[k+1];
+			Arrays.fill(values, BigInteger.ZERO);
+			values[0] = BigInteger.ONE;
+			for (int i = 1; i <= n; i++) {
+				int from = Math.max(0, k-n+i);
+				for (int j = Math.min(i, k); j >= from; j--) {
+					BigInteger value = values[j].multiply(BigInteger.valueOf(coefficient.applyAsInt(i, j)));
+					values[j] = j == 0 ? value : value.add(values[j-1]);
+				}
+			}
+			return values[k];
+		}
+
+		private Row row(int n) {
+			Row[] rows = this.rows;
+			if (n < rows.length) {
+				return rows[n];
+			}
+			return extend(n);
+		}
+
+		private synchronized Row extend(int n) {
+			Row[] rows = this.rows;
+			if (n < rows.length) {
+				return rows[n];
+			}
+			int start = rows.length;
+			rows = Arrays.copyOf(rows, n+1);
+			for (int i = start; i <= n; i++) {
+				rows[i] = nextRow(rows[i-1], i);
+			}
+			this.rows = rows;
+			return rows[n];
+		}
+
+		private Row nextRow(Row previous, int n) {
+			long[] values = new long[n+1];
+			BigInteger[] bigValues = null;
+			for (int k = 0; k <= n; k++) {
+				int c = coefficient.applyAsInt(n, k);
+				long value = add(previous.value(k-1), multiply(c, previous.value(k)));
+				if (value == OVERFLOW) {
+					//超过Long最大范围时改用BigInteger计算
+					if (bigValues == null) {
+						bigValues = new BigInteger[n+1];
+					}
+					bigValues[k] = previous.bigValue(k-1).add(BigInteger.valueOf(c).multiply(previous.bigValue(k)));
+				}
+				values[k] = value;
+			}
+			return new Row(values, bigValues);
+		}
+	}
+
+	/**
+	 * 按递推关系计算的数列表
+	 * 数列各项先以BigInteger计算，未超过Long最大范围的项同时以long存储
+	 */
+	private abstract static class Sequence {
+		private volatile long[] values = {};
+		private volatile BigInteger[] bigValues = {};
+
+		/**
+		 * 计算数列第n项
+		 * @param values 已计算出的前n项
+		 * @param n 要计算的项
+		 * @return 第n项
+		 */
+		abstract BigInteger next(BigInteger[] values, int n);
+
+		private long value(int n) {
+			checkArgument(n);
+			long[] values = this.values;
+			if (n >= values.length) {
+				extend(n);
+				values = this.values;
+			}
+			if (values[n] == OVERFLOW) {
+				throw new IllegalArgumentException("数据量超过Long最大范围");
+			}
+			return values[n];
+		}
+
+		private BigInteger bigValue(int n) {
+			checkArgument(n);
+			BigInteger[] bigValues = this.bigValues;
+			if (n >= bigValues.length) {
+				extend(n);
+				bigValues = this.bigValues;
+			}
+			return bigValues[n];
+		}
+
+		private synchronized void extend(int n) {
+			int start = bigValues.length;
+			if (n < start) {
+				return;
+			}
+			BigInteger[] bigValues = Arrays.copyOf(this.bigValues, n+1);
+			long[] values = Arrays.copyOf(this.values, n+1);
+			for (int i = start; i <= n; i++) {
+				bigValues[i] = next(bigValues, i);
+				values[i] = bigValues[i].bitLength() < Long.SIZE ? bigValues[i].longValue() : OVERFLOW;
+			}
+			this.bigValues = bigValues;
+			this.values = values;
+		}
+	}
+}
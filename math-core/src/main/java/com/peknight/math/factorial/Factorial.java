@@ -24,6 +24,8 @@
 package com.peknight.math.factorial;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 阶乘算法类
@@ -52,18 +54,45 @@ public class Factorial {
 	}
 	/** 阶乘（数据较大时使用） */
 	public static BigInteger bigFactorial(int num) {
-		BigInteger result = new BigInteger("1");
-		for (int i = 2; i <= num; i++) {
-			result = result.multiply(new BigInteger(String.valueOf(i)));
-		}
-		return result;
+		return bigFactorial(num, 2);
 	}
-	/** 阶乘（数据较大时使用）：num*(num-1)*(num-2)*...*min */
+	/**
+	 * 阶乘（数据较大时使用）：num*(num-1)*(num-2)*...*min
+	 * 相邻的数先在long范围内累乘，再按平衡乘积树相乘，使每次乘法两侧位数相近
+	 * 相比逐个相乘，区间较长时可快一个数量级以上
+	 */
 	public static BigInteger bigFactorial(int num, int min) {
-		BigInteger result = new BigInteger("1");
-		for (int i = min; i <= num; i++) {
-			result = result.multiply(new BigInteger(String.valueOf(i)));
+		if (min > num) {
+			return BigInteger.ONE;
 		}
-		return result;
+		if (min <= 0) {
+			//区间含0或负数时不需要快速计算，逐个相乘保持原有结果
+			BigInteger result = BigInteger.ONE;
+			for (long i = min; i <= num; i++) {
+				result = result.multiply(BigInteger.valueOf(i));
+			}
+			return result;
+		}
+		List<BigInteger> factors = new ArrayList<BigInteger>();
+		long acc = 1;
+		for (long i = min; i <= num; i++) {
+			if (acc > Long.MAX_VALUE / i) {
+				factors.add(BigInteger.valueOf(acc));
+				acc = i;
+			} else {
+				acc *= i;
+			}
+		}
+		factors.add(BigInteger.valueOf(acc));
+		return product(factors, 0, factors.size());
+	}
+
+	/** 平衡乘积树：将factors[from, to)分为两半分别相乘后再相乘 */
+	private static BigInteger product(List<BigInteger> factors, int from, int to) {
+		if (to-from == 1) {
+			return factors.get(from);
+		}
+		int mid = (from+to) >>> 1;
+		return product(factors, from, mid).multiply(product(factors, mid, to));
 	}
 }
@@ -0,0 +1,121 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.factorial;
+
+/**
+ * 对数阶乘算法类
+ * 本类提供了以自然对数形式近似计算阶乘、组合数、排列数及其二进制位数的方法
+ * 只需要判断数量级或计算概率时，无需构造位数巨大的精确结果
+ *
+ * 误差说明：
+ * n小于TABLE_SIZE时ln(n!)由逐项累加ln(i)的表给出，相对误差不超过n*2^-53
+ * n不小于TABLE_SIZE时使用斯特林级数
+ * ln(n!) = n*ln(n) - n + ln(2*pi*n)/2 + 1/(12n) - 1/(360n^3) + 1/(1260n^5)
+ * 截断误差小于1/(1680n^7)（不超过1e-19），结果的相对误差不超过4*2^-53
+ * 组合数与排列数的对数由阶乘的对数相减得到，绝对误差不超过参与计算的最大一项ln(n!)的8*2^-53倍
+ * 二进制位数的估计值与精确值最多相差1
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class LogFactorial {
+	private LogFactorial() {}
+
+	/** 查表计算的范围 */
+	private static final int TABLE_SIZE = 256;
+
+	private static final double LN_2 = Math.log(2);
+
+	private static final double HALF_LN_2PI = 0.5*Math.log(2*Math.PI);
+
+	/** LN_FACTORIALS[n] = ln(n!) */
+	private static final double[] LN_FACTORIALS = new double[TABLE_SIZE];
+
+	static {
+		for (int i = 2; i < TABLE_SIZE; i++) {
+			LN_FACTORIALS[i] = LN_FACTORIALS[i-1] + Math.log(i);
+		}
+	}
+
+	/** 阶乘的自然对数 ln(num!) */
+	public static double logFactorial(int num) {
+		if (num < 0) {
+			throw new IllegalArgumentException("参数不能为负数");
+		}
+		if (num < TABLE_SIZE) {
+			return LN_FACTORIALS[num];
+		}
+		double n = num;
+		double r = 1/n;
+		double r2 = r*r;
+		return n*Math.log(n) - n + HALF_LN_2PI + 0.5*Math.log(n) + r*(1.0/12 - r2*(1.0/360 - r2/1260));
+	}
+
+	/** 阶乘的自然对数：ln(num*(num-1)*(num-2)*...*min) */
+	public static double logFactorial(int num, int min) {
+		if (min > num) {
+			return 0;
+		}
+		return logFactorial(num) - logFactorial(Math.max(min, 1)-1);
+	}
+
+	/** 组合数的自然对数 ln(C(n, m)) */
+	public static double logBinomial(int n, int m) {
+		checkArgument(n, m);
+		return logFactorial(n) - logFactorial(m) - logFactorial(n-m);
+	}
+
+	/** 排列数的自然对数 ln(A(n, m)) */
+	public static double logPermutation(int n, int m) {
+		checkArgument(n, m);
+		return logFactorial(n) - logFactorial(n-m);
+	}
+
+	/** 估算阶乘num!的二进制位数（与精确值最多相差1） */
+	public static long bitLengthOfFactorial(int num) {
+		return bitLength(logFactorial(num));
+	}
+
+	/** 估算组合数C(n, m)的二进制位数（与精确值最多相差1） */
+	public static long bitLengthOfBinomial(int n, int m) {
+		return bitLength(logBinomial(n, m));
+	}
+
+	/** 估算排列数A(n, m)的二进制位数（与精确值最多相差1） */
+	public static long bitLengthOfPermutation(int n, int m) {
+		return bitLength(logPermutation(n, m));
+	}
+
+	/** 根据自然对数估算正整数的二进制位数 floor(log2(x))+1 */
+	private static long bitLength(double ln) {
+		return (long) Math.floor(Math.max(ln, 0)/LN_2) + 1;
+	}
+
+	private static void checkArgument(int n, int m) {
+		if (m < 0 || m > n) {
+			throw new IllegalArgumentException("参数超出范围");
+		}
+	}
+}
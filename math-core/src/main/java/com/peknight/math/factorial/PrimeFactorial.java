@@ -0,0 +1,201 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2027 PeKnight(JKpeknight@gmail.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.peknight.math.factorial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 素因数分解阶乘算法类
+ * 本类通过素因数分解精确计算阶乘、排列数（下降阶乘）、组合数与多项式系数，适用于数据量超大的情况
+ * 先用筛法求出不超过n的素数，再由勒让德公式 e(n!, p) = n/p + n/p^2 + n/p^3 + ...（整除）求出每个素数的指数
+ * 最后将各素数的幂按平衡乘积树相乘，全程不构造中间阶乘，也不做大数除法
+ * 求出的素数表会被缓存，多线程下可安全使用
+ *
+ * @author Peknight
+ *
+ * 原创
+ */
+public class PrimeFactorial {
+	private PrimeFactorial() {}
+
+	/** 缓存的素数表，primes包含所有不超过limit的素数 */
+	private static volatile Sieve sieve = new Sieve(1, new int[0]);
+
+	/** 阶乘 n! */
+	public static BigInteger bigFactorial(int n) {
+		checkArgument(n, 0);
+		return product(n);
+	}
+
+	/** 排列数（下降阶乘）A(n, m) = n*(n-1)*...*(n-m+1) */
+	public static BigInteger bigFallingFactorial(int n, int m) {
+		checkArgument(n, m);
+		return product(n, n-m);
+	}
+
+	/** 组合数 C(n, m) = n!/(m!*(n-m)!) */
+	public static BigInteger bigBinomial(int n, int m) {
+		checkArgument(n, m);
+		return product(n, m, n-m);
+	}
+
+	/**
+	 * 多项式系数 (k1+k2+...+km)! / (k1!*k2!*...*km!)
+	 * @param ks 各组的数据长度
+	 */
+	public static BigInteger bigMultinomial(int... ks) {
+		int n = 0;
+		for (int k : ks) {
+			checkArgument(k, 0);
+			if (k > Integer.MAX_VALUE-1-n) {
+				throw new IllegalArgumentException("参数超出范围");
+			}
+			n += k;
+		}
+		return product(n, ks);
+	}
+
+	/**
+	 * 计算 n!/(k1!*k2!*...*km!)
+	 * 素数p的指数为 e(n!, p) - e(k1!, p) - e(k2!, p) - ... - e(km!, p)
+	 */
+	private static BigInteger product(int n, int... ks) {
+		int[] primes = primes(n);
+		List<BigInteger> factors = new ArrayList<BigInteger>();
+		//acc 累积尚未超过Long最大范围的素数幂，减少BigInteger的个数
+		long acc = 1;
+		for (int p : primes) {
+			if (p > n) {
+				break;
+			}
+			int e = legendre(n, p);
+			for (int k : ks) {
+				e -= legendre(k, p);
+			}
+			if (e == 0) {
+				continue;
+			}
+			long power = power(p, e);
+			if (power < 0) {
+				factors.add(BigInteger.valueOf(p).pow(e));
+			} else if (acc > Long.MAX_VALUE / power) {
+				factors.add(BigInteger.valueOf(acc));
+				acc = power;
+			} else {
+				acc *= power;
+			}
+		}
+		factors.add(BigInteger.valueOf(acc));
+		return product(factors, 0, factors.size());
+	}
+
+	/** 平衡乘积树：将factors[from, to)分为两半分别相乘后再相乘，使每次乘法两侧位数相近 */
+	private static BigInteger product(List<BigInteger> factors, int from, int to) {
+		if (to-from == 1) {
+			return factors.get(from);
+		}
+		int mid = (from+to) >>> 1;
+		return product(factors, from, mid).multiply(product(factors, mid, to));
+	}
+
+	/** 勒让德公式：n!中素数p的指数 */
+	private static int legendre(int n, int p) {
+		int e = 0;
+		while (n >= p) {
+			n /= p;
+			e += n;
+		}
+		return e;
+	}
+
+	/** 计算p^e，超过Long最大范围时返回-1 */
+	private static long power(long p, int e) {
+		long result = 1;
+		for (int i = 0; i < e; i++) {
+			if (result > Long.MAX_VALUE / p) {
+				return -1;
+			}
+			result *= p;
+		}
+		return result;
+	}
+
+	/** 获取包含所有不超过n的素数的素数表（可能包含更大的素数） */
+	private static int[] primes(int n) {
+		Sieve sieve = PrimeFactorial.sieve;
+		if (n <= sieve.limit) {
+			return sieve.primes;
+		}
+		synchronized (PrimeFactorial.class) {
+			sieve = PrimeFactorial.sieve;
+			if (n > sieve.limit) {
+				//按倍数扩大筛选范围，避免n逐渐增大时反复筛选
+				int limit = (int) Math.min(Integer.MAX_VALUE-1, Math.max((long) n, 2L*sieve.limit));
+				sieve = new Sieve(limit, sieve(limit));
+				PrimeFactorial.sieve = sieve;
+			}
+			return sieve.primes;
+		}
+	}
+
+	/** 埃拉托斯特尼筛法求出不超过limit的素数 */
+	private static int[] sieve(int limit) {
+		BitSet composite = new BitSet(limit+1);
+		int count = 0;
+		for (int i = 2; i <= limit; i++) {
+			if (!composite.get(i)) {
+				count++;
+				for (long j = (long) i*i; j <= limit; j += i) {
+					composite.set((int) j);
+				}
+			}
+		}
+		int[] primes = new int[count];
+		for (int i = 2, k = 0; i <= limit; i++) {
+			if (!composite.get(i)) {
+				primes[k++] = i;
+			}
+		}
+		return primes;
+	}
+
+	private static void checkArgument(int n, int m) {
+		if (m < 0 || m > n) {
+			throw new IllegalArgumentException("参数超出范围");
+		}
+	}
+
+	private static final class Sieve {
+		private final int limit;
+		private final int[] primes;
+
+		private Sieve(int limit, int[] primes) {
+			this.limit = limit;
+			this.primes = primes;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.peknight.math.collection;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * bigPermutation与getBigPermutationRow必须与原先逐列取模、相除的算法得到完全相同的结果
+ */
+public class BigPermutationTest {
+
+	@Test
+	public void agreesWithColumnByColumnAlgorithm() {
+		Random random = new Random(20171024L);
+		for (int n = 0; n <= 40; n++) {
+			int[] data = shuffledData(n, random);
+			for (int len = 0; len <= n; len++) {
+				BigInteger count = Permutation.countBigPermutation(n, len);
+				for (BigInteger row : rows(count, random)) {
+					int[] expected = columnByColumnUnrank(data, len, row);
+					int[] actual = Permutation.bigPermutation(data, len, row);
+					assertArrayEquals(n + ":" + len + ":" + row, expected, actual);
+					BigInteger expectedRow = columnByColumnRank(actual, data);
+					assertEquals(row.mod(count), expectedRow);
+					assertEquals(expectedRow, Permutation.getBigPermutationRow(actual, data));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void primitiveOverloadsAgree() {
+		Random random = new Random(42L);
+		int n = 30;
+		int len = 20;
+		int[] data = shuffledData(n, random);
+		double[] doubleData = new double[n];
+		long[] longData = new long[n];
+		for (int i = 0; i < n; i++) {
+			doubleData[i] = data[i]-0.5;
+			longData[i] = data[i]*(1L << 40);
+		}
+		BigInteger count = Permutation.countBigPermutation(n, len);
+		for (BigInteger row : rows(count, random)) {
+			int[] expected = columnByColumnUnrank(data, len, row);
+			double[] doubleArr = Permutation.bigPermutation(doubleData, len, row);
+			long[] longArr = Permutation.bigPermutation(longData, len, row);
+			for (int col = 0; col < len; col++) {
+				assertEquals(expected[col]-0.5, doubleArr[col], 0);
+				assertEquals(expected[col]*(1L << 40), longArr[col]);
+			}
+			assertEquals(row.mod(count), Permutation.getBigPermutationRow(doubleArr, doubleData));
+			assertEquals(row.mod(count), Permutation.getBigPermutationRow(longArr, longData));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rankRejectsValueNotInData() {
+		Permutation.getBigPermutationRow(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 99}, new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+	}
+
+	/** 0、1、末行、总数、总数+1、-1、-总数以及若干随机行号（含负数与超出总数的行号） */
+	private static List<BigInteger> rows(BigInteger count, Random random) {
+		List<BigInteger> rows = new ArrayList<BigInteger>(Arrays.asList(BigInteger.ZERO, BigInteger.ONE,
+				count.subtract(BigInteger.ONE), count, count.add(BigInteger.ONE), BigInteger.ONE.negate(), count.negate()));
+		for (int i = 0; i < 6; i++) {
+			BigInteger row = new BigInteger(count.bitLength()+2, random);
+			rows.add(i % 2 == 0 ? row : row.negate());
+		}
+		return rows;
+	}
+
+	private static int[] shuffledData(int n, Random random) {
+		int[] data = new int[n];
+		for (int i = 0; i < n; i++) {
+			data[i] = i*3+1;
+		}
+		for (int i = n-1; i > 0; i--) {
+			int j = random.nextInt(i+1);
+			int temp = data[i];
+			data[i] = data[j];
+			data[j] = temp;
+		}
+		return data;
+	}
+
+	/** 原先的算法：每列先对剩余排列数取模，再除以后续各列的排列数得到该列下标 */
+	private static int[] columnByColumnUnrank(int[] data, int len, BigInteger row) {
+		List<Integer> rest = new ArrayList<Integer>();
+		for (int value : data) {
+			rest.add(value);
+		}
+		int dataSize = data.length;
+		int[] permutationArr = new int[len];
+		for (int col = 0; col < len; col++) {
+			row = row.mod(Permutation.countBigPermutation(dataSize-col, len-col));
+			int index = row.divide(Permutation.countBigPermutation(dataSize-col-1, len-col-1)).intValue();
+			permutationArr[col] = rest.remove(index);
+		}
+		return permutationArr;
+	}
+
+	/** 原先的算法：每列在剩余数据中的下标乘以后续各列的排列数后累加 */
+	private static BigInteger columnByColumnRank(int[] permutationArr, int[] data) {
+		List<Integer> rest = new ArrayList<Integer>();
+		for (int value : data) {
+			rest.add(value);
+		}
+		int dataSize = data.length;
+		int len = permutationArr.length;
+		BigInteger row = BigInteger.ZERO;
+		for (int col = 0; col < len; col++) {
+			int index = rest.indexOf(permutationArr[col]);
+			row = row.add(Permutation.countBigPermutation(dataSize-col-1, len-col-1).multiply(BigInteger.valueOf(index)));
+			rest.remove(index);
+		}
+		return row;
+	}
+}
@@ -0,0 +1,97 @@
+package com.peknight.math.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CartesianProductTest {
+
+	/** 包含奇数、偶数以及只有一个取值的坐标 */
+	private static final int[][] DATA = {{1, 2, 3}, {40, 50}, {6, 7, 8, 9}, {100}, {-1, -2, -3}};
+
+	@Test
+	public void grayOrderChangesOneCoordinatePerRow() {
+		long count = CartesianProduct.countCartesianProduct(DATA);
+		Set<String> rows = new HashSet<String>();
+		int[] previous = CartesianProduct.grayCartesianProduct(DATA, 0);
+		for (long row = 0; row < count; row++) {
+			int[] productArr = CartesianProduct.grayCartesianProduct(DATA, row);
+			assertEquals(row, CartesianProduct.getGrayCartesianProductRow(productArr, DATA));
+			assertTrue(rows.add(Arrays.toString(productArr)));
+			if (row > 0) {
+				int changed = 0;
+				for (int col = 0; col < DATA.length; col++) {
+					if (productArr[col] != previous[col]) {
+						changed++;
+					}
+				}
+				assertEquals(row + "", 1, changed);
+			}
+			previous = productArr;
+		}
+	}
+
+	@Test
+	public void cursorOnAnyRangeMatchesUnrank() {
+		int[] sizes = CartesianProduct.sizes(DATA);
+		int count = (int) CartesianProduct.countCartesianProduct(DATA);
+		for (int start = 0; start <= count; start++) {
+			for (int end = start; end <= count; end++) {
+				assertCursor(sizes, start, end, false);
+				assertCursor(sizes, start, end, true);
+			}
+		}
+	}
+
+	@Test
+	public void parallelStreamMatchesCartesianProduct() {
+		int[][] data = {{1, 2, 3, 4, 5}, {6, 7, 8, 9}, {10, 11, 12, 13, 14, 15}, {16, 17, 18}, {19, 20, 21, 22, 23, 24, 25}};
+		int[][] expected = CartesianProduct.cartesianProduct(data);
+		for (int row = 0; row < expected.length; row++) {
+			assertArrayEquals(CartesianProduct.cartesianProduct(data, row), expected[row]);
+		}
+		for (boolean parallel : new boolean[] {false, true}) {
+			List<int[]> actual = CartesianProduct.stream(data, parallel).collect(Collectors.toList());
+			assertEquals(expected.length, actual.size());
+			for (int row = 0; row < expected.length; row++) {
+				assertArrayEquals(expected[row], actual.get(row));
+			}
+		}
+	}
+
+	private static void assertCursor(int[] sizes, long start, long end, boolean gray) {
+		CartesianProductCursor cursor = new CartesianProductCursor(sizes, start, end, gray);
+		int[] productArr = new int[DATA.length];
+		int[] previous = null;
+		for (long row = start; row < end; row++) {
+			assertTrue(cursor.next());
+			assertEquals(row, cursor.getRow());
+			cursor.fill(productArr, DATA);
+			int[] expected = gray ? CartesianProduct.grayCartesianProduct(DATA, row) : CartesianProduct.cartesianProduct(DATA, row);
+			assertArrayEquals(start + ":" + end + ":" + row, expected, productArr);
+			if (previous == null) {
+				assertEquals(-1, cursor.getChanged());
+			} else {
+				//变化的坐标之前的坐标不变，格雷码顺序下之后的坐标也不变（行号顺序下之后的坐标因进位归零）
+				int changed = cursor.getChanged();
+				assertTrue(productArr[changed] != previous[changed]);
+				for (int col = 0; col < changed; col++) {
+					assertEquals(previous[col], productArr[col]);
+				}
+				for (int col = changed+1; gray && col < DATA.length; col++) {
+					assertEquals(previous[col], productArr[col]);
+				}
+			}
+			previous = productArr.clone();
+		}
+		assertTrue(!cursor.next());
+	}
+}
@@ -0,0 +1,80 @@
+package com.peknight.math.collection;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CheckpointTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void textRoundTrip() {
+		Checkpoint checkpoint = new Checkpoint(Checkpoint.Type.PERMUTATION, 6, 4, BigInteger.valueOf(90), BigInteger.valueOf(180));
+		assertEquals(checkpoint, Checkpoint.parse(checkpoint.toString()));
+	}
+
+	@Test
+	public void storeReplacesExistingFile() throws Exception {
+		Path path = folder.getRoot().toPath().resolve("shard.checkpoint");
+		Checkpoint first = new Checkpoint(Checkpoint.Type.PERMUTATION, 6, 4, BigInteger.ZERO, BigInteger.valueOf(180));
+		Checkpoint second = new Checkpoint(Checkpoint.Type.PERMUTATION, 6, 4, BigInteger.valueOf(35), BigInteger.valueOf(180));
+		first.store(path);
+		assertEquals(first, Checkpoint.load(path));
+		second.store(path);
+		assertEquals(second, Checkpoint.load(path));
+		assertTrue(!Files.exists(path.resolveSibling("shard.checkpoint.tmp")));
+	}
+
+	@Test
+	public void serializationRoundTrip() throws Exception {
+		Checkpoint checkpoint = new Checkpoint(Checkpoint.Type.COMBINATION, 9, 4, BigInteger.valueOf(3), BigInteger.valueOf(100));
+		assertEquals(checkpoint, deserialize(serialize(checkpoint)));
+	}
+
+	@Test(expected = InvalidObjectException.class)
+	public void deserializationRejectsNegativeRow() throws Exception {
+		Checkpoint checkpoint = new Checkpoint(Checkpoint.Type.COMBINATION, 9, 4, BigInteger.ZERO, BigInteger.TEN);
+		set(checkpoint, "row", BigInteger.valueOf(-1));
+		deserialize(serialize(checkpoint));
+	}
+
+	@Test(expected = InvalidObjectException.class)
+	public void deserializationRejectsLenOutOfRange() throws Exception {
+		Checkpoint checkpoint = new Checkpoint(Checkpoint.Type.PERMUTATION, 6, 4, BigInteger.ZERO, BigInteger.TEN);
+		set(checkpoint, "len", 7);
+		deserialize(serialize(checkpoint));
+	}
+
+	private static void set(Checkpoint checkpoint, String name, Object value) throws Exception {
+		Field field = Checkpoint.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(checkpoint, value);
+	}
+
+	private static byte[] serialize(Checkpoint checkpoint) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(checkpoint);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize(byte[] bytes) throws Exception {
+		return new ObjectInputStream(new ByteArrayInputStream(bytes)).readObject();
+	}
+}
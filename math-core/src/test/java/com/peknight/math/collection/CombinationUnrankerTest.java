@@ -0,0 +1,76 @@
+package com.peknight.math.collection;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CombinationUnrankerTest {
+
+	private static final int[] DATA = {3, 1, 4, 5, 9, 2, 6};
+
+	@Test
+	public void agreesWithCombination() {
+		for (int len = 0; len <= DATA.length; len++) {
+			CombinationUnranker unranker = new CombinationUnranker(DATA, len);
+			assertEquals(Combination.countCombination(DATA.length, len), unranker.getCount());
+			int[] combinationArr = new int[len];
+			for (long row = 0; row < unranker.getCount(); row++) {
+				unranker.unrankInto(combinationArr, row);
+				assertArrayEquals(Combination.combination(DATA, len, row), combinationArr);
+				assertEquals(row, unranker.rank(combinationArr));
+			}
+		}
+	}
+
+	@Test
+	public void rowsBeyondCountWrapAround() {
+		CombinationUnranker unranker = new CombinationUnranker(DATA, 3);
+		long count = unranker.getCount();
+		int[] expected = new int[3];
+		int[] actual = new int[3];
+		for (long row = 0; row < count; row++) {
+			unranker.unrankIndexes(expected, row);
+			unranker.unrankIndexes(actual, row+count);
+			assertArrayEquals(expected, actual);
+			unranker.unrankIndexes(actual, row+5*count);
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void invalidArguments() {
+		CombinationUnranker unranker = new CombinationUnranker(DATA, 3);
+		int[][] invalidIndexes = {{1, 2, 7}, {-1, 1, 2}, {1, 1, 2}, {2, 1, 3}, {1, 2}};
+		for (int[] indexArr : invalidIndexes) {
+			try {
+				unranker.rankIndexes(indexArr);
+				fail();
+			} catch (IllegalArgumentException e) {
+				//期望抛出异常
+			}
+		}
+		int[][] invalidCombinations = {{3, 1, 8}, {3, 1}};
+		for (int[] combinationArr : invalidCombinations) {
+			try {
+				unranker.rank(combinationArr);
+				fail();
+			} catch (IllegalArgumentException e) {
+				//期望抛出异常
+			}
+		}
+		try {
+			unranker.unrankIndexes(new int[3], -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			//期望抛出异常
+		}
+		try {
+			unranker.unrankIndexes(new int[2], 5);
+			fail();
+		} catch (IllegalArgumentException e) {
+			//期望抛出异常
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.peknight.math.collection;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntegerPartitionTest {
+
+	@Test
+	public void agreesWithBruteForce() {
+		for (int n = 0; n <= 12; n++) {
+			List<int[]> all = new ArrayList<int[]>();
+			partitions(n, n, new int[n], 0, all);
+			for (int maxParts = 0; maxParts <= n+1; maxParts++) {
+				for (int maxPart = 0; maxPart <= n+1; maxPart++) {
+					List<int[]> expected = new ArrayList<int[]>();
+					for (int[] partitionArr : all) {
+						if (partitionArr.length <= maxParts && (partitionArr.length == 0 || partitionArr[0] <= maxPart)) {
+							expected.add(partitionArr);
+						}
+					}
+					IntegerPartition partition = new IntegerPartition(n, maxParts, maxPart);
+					assertEquals(BigInteger.valueOf(expected.size()), IntegerPartition.countBigIntegerPartition(n, maxParts, maxPart));
+					assertPartition(partition, expected);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void largeCounts() {
+		assertEquals(190569292L, new IntegerPartition(100).getCount());
+		assertEquals(9253082936723602L, new IntegerPartition(300).getCount());
+		assertEquals(BigInteger.valueOf(9253082936723602L), IntegerPartition.countBigIntegerPartition(300, 300, 300));
+		try {
+			new IntegerPartition(500).getCount();
+			fail();
+		} catch (IllegalArgumentException e) {
+			//期望抛出异常
+		}
+	}
+
+	@Test
+	public void rankRejectsInvalidParts() {
+		IntegerPartition partition = new IntegerPartition(6, 3, 4);
+		int[][] invalid = {{2, 3, 1}, {4, 2, 0}, {5, 1}, {2, 2, 1, 1}, {4, 1}, {4, 2, 1}, {4, -2, 4}};
+		for (int[] partitionArr : invalid) {
+			try {
+				partition.getIntegerPartitionRow(partitionArr, partitionArr.length);
+				fail(Arrays.toString(partitionArr));
+			} catch (IllegalArgumentException e) {
+				//期望抛出异常
+			}
+		}
+		try {
+			partition.getIntegerPartitionRow(new int[] {4, 2}, 3);
+			fail();
+		} catch (IllegalArgumentException e) {
+			//期望抛出异常
+		}
+	}
+
+	private static void assertPartition(IntegerPartition partition, List<int[]> expected) {
+		int count = expected.size();
+		assertEquals(count, partition.getCount());
+		for (int row = 0; row < count; row++) {
+			int[] partitionArr = partition.integerPartition(row);
+			assertArrayEquals(expected.get(row), partitionArr);
+			assertEquals(row, partition.getIntegerPartitionRow(partitionArr, partitionArr.length));
+		}
+		for (int start : new int[] {0, 1, count/3, count/2, count-1, count}) {
+			if (start < 0 || start > count) {
+				continue;
+			}
+			for (int end : new int[] {count, Math.min(count, start+count/4+1)}) {
+				IntegerPartitionCursor cursor = partition.cursor(start, end);
+				for (int row = start; row < end; row++) {
+					assertTrue(cursor.next());
+					assertEquals(row, cursor.getRow());
+					assertArrayEquals(expected.get(row), Arrays.copyOf(cursor.getParts(), cursor.getLen()));
+				}
+				assertTrue(!cursor.next());
+			}
+		}
+		List<int[]> actual = partition.stream(true).collect(Collectors.toList());
+		assertEquals(count, actual.size());
+		for (int row = 0; row < count; row++) {
+			assertArrayEquals(expected.get(row), actual.get(row));
+		}
+	}
+
+	/** 按逆字典序生成r的全部划分，每个部分不超过m */
+	private static void partitions(int r, int m, int[] parts, int len, List<int[]> all) {
+		if (r == 0) {
+			all.add(Arrays.copyOf(parts, len));
+			return;
+		}
+		for (int v = Math.min(m, r); v > 0; v--) {
+			parts[len] = v;
+			partitions(r-v, v, parts, len+1, all);
+		}
+	}
+}
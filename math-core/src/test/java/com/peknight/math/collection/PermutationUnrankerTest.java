@@ -0,0 +1,71 @@
+package com.peknight.math.collection;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PermutationUnrankerTest {
+
+	private static final int[] DATA = {3, 1, 4, 5, 9, 2};
+
+	private static final int LEN = 3;
+
+	@Test
+	public void agreesWithPermutation() {
+		PermutationUnranker unranker = new PermutationUnranker(DATA, LEN);
+		int[] permutationArr = new int[LEN];
+		for (long row = 0; row < unranker.getCount(); row++) {
+			unranker.unrankInto(permutationArr, row);
+			assertArrayEquals(Permutation.permutation(DATA, LEN, row), permutationArr);
+			assertEquals(row, unranker.rank(permutationArr));
+		}
+	}
+
+	@Test
+	public void agreesWithPermutationOnLongerData() {
+		int[] data = {8, 3, 12, 7, 1, 10, 5, 0, 11, 6, 2, 9, 4};
+		PermutationUnranker unranker = new PermutationUnranker(data, 4);
+		int[] permutationArr = new int[4];
+		for (long row = 0; row < unranker.getCount(); row += 7) {
+			unranker.unrankInto(permutationArr, row);
+			assertArrayEquals(Permutation.permutation(data, 4, row), permutationArr);
+			assertEquals(row, unranker.rank(permutationArr));
+		}
+	}
+
+	@Test
+	public void invalidArgumentsLeaveUnrankerUsable() {
+		PermutationUnranker unranker = new PermutationUnranker(DATA, LEN);
+		int[][] invalidIndexes = {{1, 2, 7}, {1, -1, 2}, {1, 2, 1}, {4, 4, 0}, {1, 2}};
+		for (int[] indexArr : invalidIndexes) {
+			try {
+				unranker.rankIndexes(indexArr);
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertAllRows(unranker);
+			}
+		}
+		try {
+			unranker.unrankIndexes(new int[LEN], -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertAllRows(unranker);
+		}
+		try {
+			unranker.unrankIndexes(new int[LEN-1], 5);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertAllRows(unranker);
+		}
+	}
+
+	private static void assertAllRows(PermutationUnranker unranker) {
+		int[] indexArr = new int[LEN];
+		for (long row = 0; row < unranker.getCount(); row++) {
+			unranker.unrankIndexes(indexArr, row);
+			assertEquals(row, unranker.rankIndexes(indexArr));
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.peknight.math.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SetPartitionTest {
+
+	@Test
+	public void agreesWithBruteForce() {
+		for (int n = 0; n <= 6; n++) {
+			List<int[]> all = new ArrayList<int[]>();
+			rgs(new int[n], 0, 0, all);
+			for (int minBlocks = 0; minBlocks <= n+1; minBlocks++) {
+				for (int maxBlocks = minBlocks-1; maxBlocks <= n+1; maxBlocks++) {
+					for (int minBlockSize = 0; minBlockSize <= n+1; minBlockSize++) {
+						for (int maxBlockSize = minBlockSize-1; maxBlockSize <= n+1; maxBlockSize++) {
+							List<int[]> expected = filter(all, minBlocks, maxBlocks, minBlockSize, maxBlockSize);
+							assertPartition(new SetPartition(n, minBlocks, maxBlocks, minBlockSize, maxBlockSize), expected);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void blockSizeBoundsOnLargerSets() {
+		List<int[]> all = new ArrayList<int[]>();
+		rgs(new int[9], 0, 0, all);
+		assertPartition(new SetPartition(9, 0, 9, 2, 3), filter(all, 0, 9, 2, 3));
+		assertPartition(new SetPartition(9, 3, 4, 1, 4), filter(all, 3, 4, 1, 4));
+		assertPartition(new SetPartition(9, 0, 9, 3, 9), filter(all, 0, 9, 3, 9));
+		//每块恰好3个元素：9!/(3!^3*3!) = 280
+		assertEquals(280, new SetPartition(9, 0, 9, 3, 3).getCount());
+	}
+
+	@Test
+	public void countsWithoutBlockSizeBounds() {
+		assertEquals(51724158235372L, new SetPartition(20).getCount());
+		for (int n = 0; n <= 20; n++) {
+			for (int k = 0; k <= n; k++) {
+				assertEquals(SetPartition.countSetPartition(n, k, n), new SetPartition(n, k, n).getCount());
+				assertEquals(SetPartition.countSetPartition(n, 0, k), new SetPartition(n, 0, k).getCount());
+			}
+		}
+	}
+
+	@Test
+	public void rankRejectsInvalidRgs() {
+		SetPartition partition = new SetPartition(5, 2, 3, 1, 3);
+		int[][] invalid = {{1, 0, 0, 1, 1}, {0, 2, 1, 1, 0}, {0, 1, -1, 0, 0}, {0, 1, 1}, {0, 0, 0, 0, 0},
+				{0, 1, 2, 3, 0}, {0, 0, 0, 0, 1}};
+		for (int[] rgsArr : invalid) {
+			try {
+				partition.getSetPartitionRow(rgsArr);
+				fail();
+			} catch (IllegalArgumentException e) {
+				//期望抛出异常
+			}
+		}
+	}
+
+	private static void assertPartition(SetPartition partition, List<int[]> expected) {
+		int count = expected.size();
+		assertEquals(count, partition.getCount());
+		for (int row = 0; row < count; row++) {
+			assertArrayEquals(expected.get(row), partition.setPartition(row));
+			assertEquals(row, partition.getSetPartitionRow(expected.get(row)));
+		}
+		for (int start : new int[] {0, 1, count/3, count/2, count-1, count}) {
+			if (start < 0 || start > count) {
+				continue;
+			}
+			for (int end : new int[] {count, Math.min(count, start+count/4+1)}) {
+				SetPartitionCursor cursor = partition.cursor(start, end);
+				for (int row = start; row < end; row++) {
+					assertTrue(cursor.next());
+					assertEquals(row, cursor.getRow());
+					assertArrayEquals(expected.get(row), cursor.getRgs());
+				}
+				assertTrue(!cursor.next());
+			}
+		}
+		List<int[]> actual = partition.stream(true).collect(Collectors.toList());
+		assertEquals(count, actual.size());
+		for (int row = 0; row < count; row++) {
+			assertArrayEquals(expected.get(row), actual.get(row));
+		}
+	}
+
+	/** 按字典序生成全部限制增长串 */
+	private static void rgs(int[] rgsArr, int i, int blocks, List<int[]> all) {
+		if (i == rgsArr.length) {
+			all.add(rgsArr.clone());
+			return;
+		}
+		for (int v = 0; v <= blocks; v++) {
+			rgsArr[i] = v;
+			rgs(rgsArr, i+1, Math.max(blocks, v+1), all);
+		}
+	}
+
+	private static List<int[]> filter(List<int[]> all, int minBlocks, int maxBlocks, int minBlockSize, int maxBlockSize) {
+		List<int[]> result = new ArrayList<int[]>();
+		for (int[] rgsArr : all) {
+			int[] sizes = new int[rgsArr.length];
+			int blocks = 0;
+			for (int v : rgsArr) {
+				sizes[v]++;
+				blocks = Math.max(blocks, v+1);
+			}
+			boolean valid = blocks >= minBlocks && blocks <= maxBlocks;
+			for (int b = 0; b < blocks; b++) {
+				valid &= sizes[b] >= minBlockSize && sizes[b] <= maxBlockSize;
+			}
+			if (valid) {
+				result.add(rgsArr);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,131 @@
+package com.peknight.math.collection;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ShardPlannerTest {
+
+	private static final int SHARD_COUNT = 4;
+
+	private static final int BATCH = 7;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void planCoversAllRows() {
+		BigInteger count = BigInteger.valueOf(10);
+		BigInteger[] bounds = ShardPlanner.plan(count, 3);
+		assertEquals(Arrays.asList(BigInteger.ZERO, BigInteger.valueOf(3), BigInteger.valueOf(6), count),
+				Arrays.asList(bounds));
+	}
+
+	@Test
+	public void combinationShardsInSeparateProcesses() throws Exception {
+		int n = 9;
+		int len = 4;
+		List<String> expected = new ArrayList<String>();
+		int[] serial = serial(n);
+		for (long row = 0; row < Combination.countCombination(n, len); row++) {
+			expected.add(Arrays.toString(Combination.combination(serial, len, row)));
+		}
+		assertEquals(expected, runShards(ShardPlanner.planCombination(n, len, SHARD_COUNT)));
+	}
+
+	@Test
+	public void permutationShardsInSeparateProcesses() throws Exception {
+		int n = 6;
+		int len = 4;
+		List<String> expected = new ArrayList<String>();
+		int[] serial = serial(n);
+		for (long row = 0; row < Permutation.countPermutation(n, len); row++) {
+			expected.add(Arrays.toString(Permutation.permutation(serial, len, row)));
+		}
+		assertEquals(expected, runShards(ShardPlanner.planPermutation(n, len, SHARD_COUNT)));
+	}
+
+	/**
+	 * 每个分片启动一个进程枚举，第0个分片在批次中间被中断，第1个分片在写入批次之后、保存检查点之前被中断
+	 * 之后从检查点重新启动未完成的分片，直到全部完成，再按行号顺序合并所有批次
+	 */
+	private List<String> runShards(Checkpoint[] shards) throws Exception {
+		File outputDir = folder.newFolder();
+		Path[] checkpointPaths = new Path[shards.length];
+		Process[] processes = new Process[shards.length];
+		for (int i = 0; i < shards.length; i++) {
+			checkpointPaths[i] = folder.getRoot().toPath().resolve(outputDir.getName() + "-" + i + ".checkpoint");
+			shards[i].store(checkpointPaths[i]);
+			long haltAfter = i == 0 ? BATCH+3 : i == 1 ? 2*BATCH : -1;
+			processes[i] = startWorker(checkpointPaths[i], outputDir, haltAfter);
+		}
+		assertEquals(1, processes[0].waitFor());
+		assertEquals(1, processes[1].waitFor());
+		for (int i = 2; i < shards.length; i++) {
+			assertEquals(0, processes[i].waitFor());
+		}
+		assertTrue(!Checkpoint.load(checkpointPaths[0]).isFinished());
+		assertTrue(!Checkpoint.load(checkpointPaths[1]).isFinished());
+
+		for (int i = 0; i < 2; i++) {
+			processes[i] = startWorker(checkpointPaths[i], outputDir, -1);
+		}
+		for (int i = 0; i < 2; i++) {
+			assertEquals(0, processes[i].waitFor());
+		}
+		for (int i = 0; i < shards.length; i++) {
+			Checkpoint checkpoint = Checkpoint.load(checkpointPaths[i]);
+			assertTrue(checkpoint.isFinished());
+			assertEquals(shards[i].getEnd(), checkpoint.getRow());
+		}
+
+		TreeMap<BigInteger, List<String>> batches = new TreeMap<BigInteger, List<String>>();
+		for (File file : outputDir.listFiles()) {
+			batches.put(new BigInteger(file.getName()), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+		}
+		List<String> rows = new ArrayList<String>();
+		for (List<String> batch : batches.values()) {
+			rows.addAll(batch);
+		}
+		return rows;
+	}
+
+	private Process startWorker(Path checkpointPath, File outputDir, long haltAfter) throws IOException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		String classpath = classpathOf(Checkpoint.class) + File.pathSeparator + classpathOf(ShardWorker.class);
+		List<String> command = new ArrayList<String>(Arrays.asList(java, "-cp", classpath, ShardWorker.class.getName(),
+				checkpointPath.toString(), outputDir.getPath(), String.valueOf(BATCH)));
+		if (haltAfter > 0) {
+			command.add(String.valueOf(haltAfter));
+		}
+		return new ProcessBuilder(command).inheritIO().start();
+	}
+
+	private static String classpathOf(Class<?> type) {
+		try {
+			return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int[] serial(int n) {
+		int[] serial = new int[n];
+		ArrayUtils.initSerialArray(serial);
+		return serial;
+	}
+}
@@ -0,0 +1,64 @@
+package com.peknight.math.collection;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 在独立进程中枚举一个分片的测试程序
+ * 参数：检查点文件 输出目录 每批行数 [中断前枚举的行数]
+ * 每枚举一批行便将这批行写入以批次起始行号命名的文件，再保存检查点
+ * 批次文件先写临时文件再原子替换，从检查点重新枚举时会以相同内容覆盖同名文件，因此不会产生重复行
+ * 指定中断前枚举的行数时，进程在枚举到该行数后直接halt，模拟被强制结束
+ */
+public class ShardWorker {
+
+	public static void main(String[] args) throws IOException {
+		Path checkpointPath = Paths.get(args[0]);
+		Path outputDir = Paths.get(args[1]);
+		int batch = Integer.parseInt(args[2]);
+		long haltAfter = args.length > 3 ? Long.parseLong(args[3]) : -1;
+
+		Checkpoint checkpoint = Checkpoint.load(checkpointPath);
+		EnumerationCursor cursor = new EnumerationCursor(checkpoint);
+		BigInteger batchStart = checkpoint.getRow();
+		List<String> lines = new ArrayList<String>();
+		while (cursor.next()) {
+			lines.add(Arrays.toString(cursor.getIndexes()));
+			if (lines.size() < batch) {
+				if (cursor.getCount() == haltAfter) {
+					//中断在批次中间：本批已枚举的行既未写入也未保存检查点
+					Runtime.getRuntime().halt(1);
+				}
+				continue;
+			}
+			writeBatch(outputDir, batchStart, lines);
+			if (cursor.getCount() == haltAfter) {
+				//中断在写入批次之后、保存检查点之前：重新枚举时会覆盖本批文件
+				Runtime.getRuntime().halt(1);
+			}
+			checkpoint = cursor.checkpoint();
+			checkpoint.store(checkpointPath);
+			batchStart = checkpoint.getRow();
+			lines.clear();
+		}
+		if (!lines.isEmpty()) {
+			writeBatch(outputDir, batchStart, lines);
+		}
+		cursor.checkpoint().store(checkpointPath);
+	}
+
+	private static void writeBatch(Path outputDir, BigInteger batchStart, List<String> lines) throws IOException {
+		Path path = outputDir.resolve(batchStart.toString());
+		Path temp = outputDir.resolve(batchStart + ".tmp");
+		Files.write(temp, lines, StandardCharsets.UTF_8);
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
@@ -0,0 +1,78 @@
+package com.peknight.math.factorial;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CountingTest {
+
+	private static final int N = 300;
+
+	@Test
+	public void stirlingAndBellAgreeWithRecurrence() {
+		BigInteger[][] stirling1 = new BigInteger[N+1][N+2];
+		BigInteger[][] stirling2 = new BigInteger[N+1][N+2];
+		for (int n = 0; n <= N; n++) {
+			Arrays.fill(stirling1[n], BigInteger.ZERO);
+			Arrays.fill(stirling2[n], BigInteger.ZERO);
+		}
+		stirling1[0][0] = BigInteger.ONE;
+		stirling2[0][0] = BigInteger.ONE;
+		for (int n = 1; n <= N; n++) {
+			for (int k = 1; k <= n; k++) {
+				stirling1[n][k] = stirling1[n-1][k-1].add(BigInteger.valueOf(n-1).multiply(stirling1[n-1][k]));
+				stirling2[n][k] = stirling2[n-1][k-1].add(BigInteger.valueOf(k).multiply(stirling2[n-1][k]));
+			}
+		}
+		for (int n = 0; n <= N; n++) {
+			BigInteger bell = BigInteger.ZERO;
+			for (int k = 0; k <= n; k++) {
+				bell = bell.add(stirling2[n][k]);
+			}
+			assertEquals(bell, Counting.countBigBell(n));
+			//缓存的行逐列检查，缓存之外的行只抽查两行
+			if (n > 128 && n != 129 && n != N) {
+				continue;
+			}
+			for (int k = 0; k <= n+1; k++) {
+				assertEquals(n + ":" + k, stirling1[n][k], Counting.countBigStirling1(n, k));
+				assertEquals(n + ":" + k, stirling2[n][k], Counting.countBigStirling2(n, k));
+				assertLongValue(stirling2[n][k], n, k);
+			}
+		}
+	}
+
+	@Test
+	public void stirling2WithThousandsOfElements() {
+		//S(n, k) = (k^n - C(k, 1)*(k-1)^n + C(k, 2)*(k-2)^n - ...) / k!
+		int n = 3000;
+		int k = 1500;
+		BigInteger sum = BigInteger.ZERO;
+		BigInteger binomial = BigInteger.ONE;
+		BigInteger factorial = BigInteger.ONE;
+		for (int j = 0; j <= k; j++) {
+			if (j > 0) {
+				binomial = binomial.multiply(BigInteger.valueOf(k-j+1)).divide(BigInteger.valueOf(j));
+				factorial = factorial.multiply(BigInteger.valueOf(j));
+			}
+			BigInteger term = binomial.multiply(BigInteger.valueOf(k-j).pow(n));
+			sum = j % 2 == 0 ? sum.add(term) : sum.subtract(term);
+		}
+		assertEquals(sum.divide(factorial), Counting.countBigStirling2(n, k));
+	}
+
+	private static void assertLongValue(BigInteger expected, int n, int k) {
+		try {
+			long value = Counting.countStirling2(n, k);
+			assertEquals(n + ":" + k, expected, BigInteger.valueOf(value));
+		} catch (IllegalArgumentException e) {
+			if (expected.bitLength() < Long.SIZE) {
+				fail(n + ":" + k);
+			}
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.peknight.math.factorial;
+
+import com.peknight.math.collection.Permutation;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class FactorialTest {
+
+	@Test
+	public void productTreeAgreesWithSequentialProduct() {
+		int[] nums = {-3, 0, 1, 2, 20, 21, 100, 1000, 5000};
+		for (int num : nums) {
+			for (int min = -5; min <= num+1; min += Math.max(1, num/37)) {
+				assertEquals(num + ":" + min, sequential(num, min), Factorial.bigFactorial(num, min));
+			}
+			assertEquals(sequential(num, 2), Factorial.bigFactorial(num));
+		}
+		int max = Integer.MAX_VALUE;
+		assertEquals(sequential(max, max-100), Factorial.bigFactorial(max, max-100));
+	}
+
+	@Test
+	public void bigPermutationAgreesWithPrimeFactorization() {
+		int[] ns = {20, 21, 64, 1000, 4000};
+		for (int n : ns) {
+			for (int m = 0; m <= n; m += Math.max(1, n/53)) {
+				assertEquals(n + ":" + m, PrimeFactorial.bigFallingFactorial(n, m), Permutation.countBigPermutation(n, m));
+			}
+		}
+	}
+
+	private static BigInteger sequential(int num, int min) {
+		BigInteger result = BigInteger.ONE;
+		for (long i = min; i <= num; i++) {
+			result = result.multiply(BigInteger.valueOf(i));
+		}
+		return result;
+	}
+}